@@ -0,0 +1,26 @@
+package br.com.devsuperior.dscatalog.benchmarks;
+
+import br.com.devsuperior.dscatalog.DscatalogApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+public class BenchmarkContext {
+
+    public static ConfigurableApplicationContext start(String... properties) {
+        List<String> all = new ArrayList<>(List.of(
+                "server.port=0",
+                "spring.datasource.url=jdbc:h2:mem:" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1",
+                "spring.h2.console.enabled=false",
+                "spring.jpa.show-sql=false",
+                "logging.level.root=WARN"));
+        all.addAll(List.of(properties));
+        return new SpringApplicationBuilder(DscatalogApplication.class)
+                .profiles("test")
+                .properties(all.toArray(String[]::new))
+                .run();
+    }
+}
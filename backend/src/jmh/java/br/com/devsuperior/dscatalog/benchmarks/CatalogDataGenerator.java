@@ -0,0 +1,133 @@
+package br.com.devsuperior.dscatalog.benchmarks;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+public class CatalogDataGenerator {
+
+    public static final String PASSWORD = "123456";
+
+    private static final String PASSWORD_HASH = "$2a$10$eACCYoNOHEqXve8aIWT8Nu3PkMXWBaOxJ9aORUYzfMQCbVBIhZ8tG";
+    private static final String[] ADJECTIVES = {"Smart", "Classic", "Portable", "Ultra", "Compact", "Deluxe",
+            "Wireless", "Gamer", "Pro", "Mini", "Digital", "Premium"};
+    private static final String[] NOUNS = {"TV", "Notebook", "Camera", "Book", "Monitor", "Keyboard", "Mouse",
+            "Headset", "Tablet", "Phone", "Speaker", "Printer", "Console", "Router"};
+    private static final String[] CATEGORY_NAMES = {"Games", "Music", "Sports", "Garden", "Kitchen", "Toys",
+            "Office", "Health", "Beauty", "Automotive", "Pets", "Tools"};
+    private static final String DESCRIPTION = "Lorem ipsum dolor sit amet, consectetur adipiscing elit, sed do eiusmod "
+            + "tempor incididunt ut labore et dolore magna aliqua.";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Random random;
+    private final int batchSize;
+
+    public CatalogDataGenerator(JdbcTemplate jdbcTemplate, long seed, int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.random = new Random(seed);
+        this.batchSize = batchSize;
+    }
+
+    public void generateCategories(int count) {
+        long firstId = nextId("tb_category");
+        Timestamp now = Timestamp.from(Instant.now());
+        List<Object[]> rows = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            String name = CATEGORY_NAMES[i % CATEGORY_NAMES.length] + " " + (i / CATEGORY_NAMES.length + 1);
+            rows.add(new Object[]{firstId + i, name, now});
+        }
+        insert("INSERT INTO tb_category (id, name, create_at) VALUES (?, ?, ?)", rows);
+        restartIdentity("tb_category", firstId + count);
+    }
+
+    public void generateProducts(int count) {
+        generateProducts(count, 2, 0.0);
+    }
+
+    public void generateProducts(int count, int maxCategoriesPerProduct, double skew) {
+        List<Long> categoryIds = jdbcTemplate.queryForList("SELECT id FROM tb_category ORDER BY id", Long.class);
+        ZipfSampler categories = new ZipfSampler(categoryIds.size(), skew);
+        ZipfSampler nouns = new ZipfSampler(NOUNS.length, skew);
+        int fanOut = Math.min(maxCategoriesPerProduct, categoryIds.size());
+        long firstId = nextId("tb_product");
+        Instant base = Instant.parse("2020-01-01T00:00:00Z");
+
+        for (int offset = 0; offset < count; offset += batchSize) {
+            int size = Math.min(batchSize, count - offset);
+            List<Object[]> products = new ArrayList<>(size);
+            List<Object[]> links = new ArrayList<>(size * fanOut);
+            for (int i = 0; i < size; i++) {
+                long id = firstId + offset + i;
+                String name = ADJECTIVES[random.nextInt(ADJECTIVES.length)] + " "
+                        + NOUNS[nouns.next(random)] + " " + (offset + i);
+                Timestamp date = Timestamp.from(base.plus(random.nextInt(1500), ChronoUnit.DAYS));
+                products.add(new Object[]{id, name, DESCRIPTION, 10.0 + random.nextInt(500000) / 100.0,
+                        "https://img.example.com/" + id + ".jpg", date, date});
+
+                Set<Long> linked = new LinkedHashSet<>();
+                int wanted = fanOut == 0 ? 0 : 1 + random.nextInt(fanOut);
+                while (linked.size() < wanted) {
+                    linked.add(categoryIds.get(categories.next(random)));
+                }
+                for (Long categoryId : linked) {
+                    links.add(new Object[]{id, categoryId});
+                }
+            }
+            jdbcTemplate.batchUpdate("INSERT INTO tb_product (id, name, description, price, img_url, date, update_at) "
+                    + "VALUES (?, ?, ?, ?, ?, ?, ?)", products);
+            if (!links.isEmpty()) {
+                jdbcTemplate.batchUpdate("INSERT INTO tb_product_category (product_id, category_id) VALUES (?, ?)", links);
+            }
+        }
+        restartIdentity("tb_product", firstId + count);
+    }
+
+    public void generateUsers(int count, double adminRatio) {
+        Long operatorRole = jdbcTemplate.queryForObject("SELECT id FROM tb_role WHERE authority = 'ROLE_OPERATOR'", Long.class);
+        Long adminRole = jdbcTemplate.queryForObject("SELECT id FROM tb_role WHERE authority = 'ROLE_ADMIN'", Long.class);
+        long firstId = nextId("tb_user");
+
+        for (int offset = 0; offset < count; offset += batchSize) {
+            int size = Math.min(batchSize, count - offset);
+            List<Object[]> users = new ArrayList<>(size);
+            List<Object[]> roles = new ArrayList<>(size * 2);
+            for (int i = 0; i < size; i++) {
+                long id = firstId + offset + i;
+                users.add(new Object[]{id, "User", String.valueOf(offset + i), email(offset + i), PASSWORD_HASH});
+                roles.add(new Object[]{id, operatorRole});
+                if (random.nextDouble() < adminRatio) {
+                    roles.add(new Object[]{id, adminRole});
+                }
+            }
+            jdbcTemplate.batchUpdate("INSERT INTO tb_user (id, first_name, last_name, email, password) VALUES (?, ?, ?, ?, ?)", users);
+            jdbcTemplate.batchUpdate("INSERT INTO tb_user_role (user_id, role_id) VALUES (?, ?)", roles);
+        }
+        restartIdentity("tb_user", firstId + count);
+    }
+
+    public static String email(int index) {
+        return "user" + index + "@catalog.test";
+    }
+
+    private void insert(String sql, List<Object[]> rows) {
+        for (int offset = 0; offset < rows.size(); offset += batchSize) {
+            jdbcTemplate.batchUpdate(sql, rows.subList(offset, Math.min(rows.size(), offset + batchSize)));
+        }
+    }
+
+    private long nextId(String table) {
+        Long max = jdbcTemplate.queryForObject("SELECT MAX(id) FROM " + table, Long.class);
+        return max == null ? 1 : max + 1;
+    }
+
+    private void restartIdentity(String table, long next) {
+        jdbcTemplate.execute("ALTER TABLE " + table + " ALTER COLUMN id RESTART WITH " + next);
+    }
+}
@@ -0,0 +1,98 @@
+package br.com.devsuperior.dscatalog.benchmarks;
+
+import br.com.devsuperior.dscatalog.config.jwk.JdbcJwkStore;
+import br.com.devsuperior.dscatalog.config.jwk.JwkEncryptor;
+import br.com.devsuperior.dscatalog.config.jwt.CachingJwtDecoder;
+import com.nimbusds.jose.jwk.JWK;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.oauth2.jose.jws.SignatureAlgorithm;
+import org.springframework.security.oauth2.jwt.JwsHeader;
+import org.springframework.security.oauth2.jwt.JwtClaimsSet;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtEncoderParameters;
+import org.springframework.security.oauth2.jwt.NimbusJwtEncoder;
+import org.springframework.security.oauth2.server.authorization.config.annotation.web.configuration.OAuth2AuthorizationServerConfiguration;
+import org.springframework.security.oauth2.server.resource.authentication.JwtGrantedAuthoritiesConverter;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JwtDecoderBenchmark {
+
+    @Param({"RS256", "ES256"})
+    private String keyAlgorithm;
+
+    private EmbeddedDatabase database;
+    private JwtDecoder nimbusDecoder;
+    private JwtGrantedAuthoritiesConverter authoritiesConverter;
+    private CachingJwtDecoder cachingDecoder;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        database = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .generateUniqueName(true)
+                .addScript("db/migration/common/V2__oauth2_schema.sql")
+                .addScript("db/migration/common/V7__oauth2_jwk_lock.sql")
+                .build();
+        JdbcJwkStore store = new JdbcJwkStore(new JdbcTemplate(database),
+                new TransactionTemplate(new DataSourceTransactionManager(database)),
+                new JwkEncryptor("fM/tfD+y9QKVeDNGsofVYuu2p57V0VODbKLM2SD4k/s="), keyAlgorithm,
+                Duration.ofDays(30), Duration.ofMinutes(10), Duration.ofDays(1));
+        JWK signingKey = store.getSigningKey();
+
+        JwsHeader header = JwsHeader.with(SignatureAlgorithm.from(keyAlgorithm)).keyId(signingKey.getKeyID()).build();
+        JwtClaimsSet claims = JwtClaimsSet.builder()
+                .subject("myclientid")
+                .issuedAt(Instant.now())
+                .expiresAt(Instant.now().plus(Duration.ofDays(1)))
+                .claim("authorities", List.of("ROLE_OPERATOR", "ROLE_ADMIN"))
+                .claim("username", "maria@gmail.com")
+                .build();
+        token = new NimbusJwtEncoder(store).encode(JwtEncoderParameters.from(header, claims)).getTokenValue();
+
+        authoritiesConverter = new JwtGrantedAuthoritiesConverter();
+        authoritiesConverter.setAuthoritiesClaimName("authorities");
+        authoritiesConverter.setAuthorityPrefix("");
+        nimbusDecoder = OAuth2AuthorizationServerConfiguration.jwtDecoder(store);
+        cachingDecoder = new CachingJwtDecoder(nimbusDecoder, authoritiesConverter, 10000, new SimpleMeterRegistry());
+    }
+
+    @TearDown
+    public void tearDown() {
+        database.shutdown();
+    }
+
+    @Benchmark
+    public Collection<GrantedAuthority> nimbus() {
+        return authoritiesConverter.convert(nimbusDecoder.decode(token));
+    }
+
+    @Benchmark
+    public Collection<GrantedAuthority> cached() {
+        return cachingDecoder.convert(cachingDecoder.decode(token));
+    }
+}
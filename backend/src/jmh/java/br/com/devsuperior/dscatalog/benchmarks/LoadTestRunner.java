@@ -0,0 +1,261 @@
+package br.com.devsuperior.dscatalog.benchmarks;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.springframework.boot.json.JacksonJsonParser;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+public class LoadTestRunner {
+
+    private static final String[] SEARCH_TERMS = {"", "smart", "book", "tv", "pro", "camera", "mini", "phone"};
+
+    private final Map<String, String> options;
+    private final HttpClient client;
+    private final String baseUrl;
+    private final int products;
+    private final int categories;
+    private final int users;
+    private final double skew;
+    private final long seed;
+    private final Map<String, Scenario> scenarios = new LinkedHashMap<>();
+    private final ZipfSampler popularProducts;
+    private String adminToken;
+    private volatile boolean recording;
+
+    public LoadTestRunner(Map<String, String> options, String baseUrl) {
+        this.options = options;
+        this.baseUrl = baseUrl;
+        this.products = intOption("products", 100000) + 25;
+        this.categories = intOption("categories", 20) + 3;
+        this.users = intOption("users", 1000);
+        this.skew = Double.parseDouble(options.getOrDefault("skew", "1.0"));
+        this.seed = Long.parseLong(options.getOrDefault("seed", "42"));
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        this.popularProducts = new ZipfSampler(products, skew);
+        for (String entry : options.getOrDefault("mix", "search:60,detail:30,token:5,write:5").split(",")) {
+            String[] parts = entry.split(":");
+            scenarios.put(parts[0], new Scenario(parts[0], Integer.parseInt(parts[1])));
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parse(args);
+        ConfigurableApplicationContext context = null;
+        String baseUrl = options.get("base-url");
+        if (baseUrl == null) {
+            context = BenchmarkContext.start();
+            CatalogDataGenerator generator = new CatalogDataGenerator(context.getBean(JdbcTemplate.class),
+                    Long.parseLong(options.getOrDefault("seed", "42")), 5000);
+            double skew = Double.parseDouble(options.getOrDefault("skew", "1.0"));
+            long start = System.nanoTime();
+            generator.generateCategories(Integer.parseInt(options.getOrDefault("categories", "20")));
+            generator.generateProducts(Integer.parseInt(options.getOrDefault("products", "100000")),
+                    Integer.parseInt(options.getOrDefault("max-categories", "3")), skew);
+            generator.generateUsers(Integer.parseInt(options.getOrDefault("users", "1000")), 0.1);
+            System.out.printf("Generated catalog in %d ms%n", TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+            baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+        }
+        try {
+            new LoadTestRunner(options, baseUrl).run();
+        }
+        finally {
+            if (context != null) {
+                context.close();
+            }
+        }
+    }
+
+    public void run() throws Exception {
+        adminToken = obtainToken(options.getOrDefault("admin-username", "maria@gmail.com"),
+                options.getOrDefault("admin-password", CatalogDataGenerator.PASSWORD));
+        int concurrency = intOption("concurrency", 32);
+        Duration warmup = Duration.parse("PT" + options.getOrDefault("warmup", "10s"));
+        Duration duration = Duration.parse("PT" + options.getOrDefault("duration", "30s"));
+
+        System.out.printf("Running %s against %s with %d workers (warmup %ds, measure %ds)%n",
+                scenarios.keySet(), baseUrl, concurrency, warmup.toSeconds(), duration.toSeconds());
+
+        long deadline = System.nanoTime() + warmup.plus(duration).toNanos();
+        try (ExecutorService workers = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < concurrency; i++) {
+                Random random = new Random(seed + i);
+                workers.submit(() -> work(random, deadline));
+            }
+            Thread.sleep(warmup.toMillis());
+            recording = true;
+        }
+        report(duration);
+    }
+
+    private void work(Random random, long deadline) {
+        int totalWeight = scenarios.values().stream().mapToInt(s -> s.weight).sum();
+        while (System.nanoTime() < deadline) {
+            Scenario scenario = pick(random, totalWeight);
+            long start = System.nanoTime();
+            int status;
+            try {
+                status = execute(scenario.name, random);
+            }
+            catch (Exception e) {
+                status = -1;
+            }
+            if (recording) {
+                scenario.record(System.nanoTime() - start, status);
+            }
+        }
+    }
+
+    private Scenario pick(Random random, int totalWeight) {
+        int value = random.nextInt(totalWeight);
+        for (Scenario scenario : scenarios.values()) {
+            value -= scenario.weight;
+            if (value < 0) {
+                return scenario;
+            }
+        }
+        throw new IllegalStateException();
+    }
+
+    private int execute(String scenario, Random random) throws Exception {
+        HttpRequest request = switch (scenario) {
+            case "search" -> get("/products?size=12&page=" + random.nextInt(5)
+                    + "&name=" + URLEncoder.encode(SEARCH_TERMS[random.nextInt(SEARCH_TERMS.length)], StandardCharsets.UTF_8)
+                    + "&categoryId=" + (random.nextBoolean() ? 0 : 1 + random.nextInt(categories)));
+            case "detail" -> get("/products/" + (1 + popularProducts.next(random)));
+            case "token" -> tokenRequest(users > 0 ? CatalogDataGenerator.email(random.nextInt(users)) : "maria@gmail.com",
+                    CatalogDataGenerator.PASSWORD);
+            case "write" -> HttpRequest.newBuilder(URI.create(baseUrl + "/products/" + (1 + random.nextInt(products))))
+                    .header("Authorization", "Bearer " + adminToken)
+                    .header("Content-Type", "application/json")
+                    .PUT(HttpRequest.BodyPublishers.ofString(productJson(random)))
+                    .build();
+            default -> throw new IllegalArgumentException("Unknown scenario: " + scenario);
+        };
+        return client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    private HttpRequest get(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path)).GET().build();
+    }
+
+    private HttpRequest tokenRequest(String username, String password) {
+        String clientId = options.getOrDefault("client-id", "myclientid");
+        String clientSecret = options.getOrDefault("client-secret", "myclientsecret");
+        String form = "grant_type=password&username=" + URLEncoder.encode(username, StandardCharsets.UTF_8)
+                + "&password=" + URLEncoder.encode(password, StandardCharsets.UTF_8);
+        String basic = Base64.getEncoder().encodeToString((clientId + ":" + clientSecret).getBytes(StandardCharsets.UTF_8));
+        return HttpRequest.newBuilder(URI.create(baseUrl + "/oauth2/token"))
+                .header("Authorization", "Basic " + basic)
+                .header("Content-Type", "application/x-www-form-urlencoded")
+                .POST(HttpRequest.BodyPublishers.ofString(form))
+                .build();
+    }
+
+    private String obtainToken(String username, String password) throws Exception {
+        HttpResponse<String> response = client.send(tokenRequest(username, password), HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("Could not obtain token for " + username + ": " + response.statusCode());
+        }
+        return new JacksonJsonParser().parseMap(response.body()).get("access_token").toString();
+    }
+
+    private String productJson(Random random) {
+        return String.format(Locale.ROOT, """
+                {"name": "Load test product %d", "description": "Updated by the load test", "price": %.2f,
+                "imgUrl": "https://img.example.com/load.jpg", "date": "2020-07-13T20:50:07Z", "categories": [{"id": %d}]}
+                """, random.nextInt(1000), 10 + random.nextInt(100000) / 100.0, 1 + random.nextInt(categories));
+    }
+
+    private void report(Duration duration) {
+        System.out.printf("%n%-8s %10s %8s %10s %9s %9s %9s %9s %9s%n",
+                "scenario", "requests", "errors", "req/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+        for (Scenario scenario : scenarios.values()) {
+            Histogram histogram = scenario.histogram;
+            System.out.printf(Locale.ROOT, "%-8s %10d %8d %10.1f %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+                    scenario.name, histogram.getTotalCount(), scenario.errors(),
+                    histogram.getTotalCount() / (double) duration.toSeconds(),
+                    millis(histogram.getValueAtPercentile(50)), millis(histogram.getValueAtPercentile(90)),
+                    millis(histogram.getValueAtPercentile(99)), millis(histogram.getValueAtPercentile(99.9)),
+                    millis(histogram.getMaxValue()));
+        }
+        for (Scenario scenario : scenarios.values()) {
+            if (!scenario.statuses.isEmpty()) {
+                System.out.printf("%s non-2xx responses: %s%n", scenario.name, scenario.statuses);
+            }
+        }
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+
+    private int intOption(String name, int defaultValue) {
+        return Integer.parseInt(options.getOrDefault(name, String.valueOf(defaultValue)));
+    }
+
+    private static Map<String, String> parse(String[] args) {
+        Map<String, String> options = new LinkedHashMap<>();
+        List<String> unknown = new ArrayList<>();
+        for (String arg : args) {
+            if (arg.startsWith("--") && arg.contains("=")) {
+                options.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+            }
+            else {
+                unknown.add(arg);
+            }
+        }
+        if (!unknown.isEmpty()) {
+            throw new IllegalArgumentException("Expected --name=value options, got " + unknown);
+        }
+        return options;
+    }
+
+    private static class Scenario {
+
+        private final String name;
+        private final int weight;
+        private final Histogram histogram = new ConcurrentHistogram(TimeUnit.MINUTES.toNanos(1), 3);
+        private final Map<Integer, LongAdder> statuses = new ConcurrentHashMap<>();
+
+        private Scenario(String name, int weight) {
+            this.name = name;
+            this.weight = weight;
+        }
+
+        private void record(long nanos, int status) {
+            histogram.recordValue(Math.min(nanos, histogram.getHighestTrackableValue()));
+            if (status < 200 || status >= 300) {
+                statuses.computeIfAbsent(status, s -> new LongAdder()).increment();
+            }
+        }
+
+        private long errors() {
+            return statuses.values().stream().mapToLong(LongAdder::sum).sum();
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package br.com.devsuperior.dscatalog.benchmarks;
+
+import br.com.devsuperior.dscatalog.config.IteratedPbkdf2PasswordEncoder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.security.crypto.argon2.Argon2PasswordEncoder;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class PasswordEncoderBenchmark {
+
+    @Param({"bcrypt", "argon2", "pbkdf2"})
+    private String encoder;
+
+    private PasswordEncoder passwordEncoder;
+    private String hash;
+
+    @Setup
+    public void setUp() {
+        passwordEncoder = switch (encoder) {
+            case "bcrypt" -> new BCryptPasswordEncoder(10);
+            case "argon2" -> new Argon2PasswordEncoder(16, 32, 1, 16384, 2);
+            case "pbkdf2" -> new IteratedPbkdf2PasswordEncoder(310000);
+            default -> throw new IllegalArgumentException(encoder);
+        };
+        hash = passwordEncoder.encode("123456");
+    }
+
+    @Benchmark
+    public boolean matches() {
+        return passwordEncoder.matches("123456", hash);
+    }
+}
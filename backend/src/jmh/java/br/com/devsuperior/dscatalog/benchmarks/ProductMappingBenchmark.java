@@ -0,0 +1,65 @@
+package br.com.devsuperior.dscatalog.benchmarks;
+
+import br.com.devsuperior.dscatalog.dto.ProductDTO;
+import br.com.devsuperior.dscatalog.entities.Category;
+import br.com.devsuperior.dscatalog.entities.Product;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ProductMappingBenchmark {
+
+    @Param({"12", "100"})
+    private int size;
+
+    private List<Product> products;
+    private Page<ProductDTO> page;
+    private ObjectMapper objectMapper;
+
+    @Setup
+    public void setUp() {
+        Category books = new Category(1L, "Books");
+        Category electronics = new Category(2L, "Electronics");
+        products = new ArrayList<>();
+        for (long id = 1; id <= size; id++) {
+            Product product = new Product(id, "Product " + id, "Lorem ipsum dolor sit amet", 10.0 + id,
+                    "https://img.example.com/" + id + ".jpg", Instant.now());
+            product.getCategories().add(books);
+            if (id % 2 == 0) {
+                product.getCategories().add(electronics);
+            }
+            products.add(product);
+        }
+        page = new PageImpl<>(toDtos(), PageRequest.of(0, size), 100000);
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    }
+
+    @Benchmark
+    public List<ProductDTO> toDtos() {
+        return products.stream().map(p -> new ProductDTO(p, p.getCategories())).toList();
+    }
+
+    @Benchmark
+    public byte[] serializePage() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(page);
+    }
+}
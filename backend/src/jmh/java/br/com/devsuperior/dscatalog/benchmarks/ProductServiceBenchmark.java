@@ -0,0 +1,100 @@
+package br.com.devsuperior.dscatalog.benchmarks;
+
+import br.com.devsuperior.dscatalog.dto.CursorPageDTO;
+import br.com.devsuperior.dscatalog.dto.ProductDTO;
+import br.com.devsuperior.dscatalog.entities.Product;
+import br.com.devsuperior.dscatalog.projections.ProductProjection;
+import br.com.devsuperior.dscatalog.repositories.ProductRepository;
+import br.com.devsuperior.dscatalog.services.ProductCursor;
+import br.com.devsuperior.dscatalog.services.ProductService;
+import br.com.devsuperior.dscatalog.services.Utils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ProductServiceBenchmark {
+
+    @Param({"100000"})
+    private int products;
+
+    @Param({"0", "1000"})
+    private int page;
+
+    @Param({"", "smart"})
+    private String name;
+
+    private ConfigurableApplicationContext context;
+    private ProductService service;
+    private ProductRepository repository;
+    private TransactionTemplate readOnlyTransaction;
+    private Pageable pageable;
+    private String after;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start();
+        new CatalogDataGenerator(context.getBean(JdbcTemplate.class), 42L, 5000).generateProducts(products);
+        service = context.getBean(ProductService.class);
+        repository = context.getBean(ProductRepository.class);
+        readOnlyTransaction = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        readOnlyTransaction.setReadOnly(true);
+        pageable = PageRequest.of(page, 12, Sort.by("name"));
+        if (page > 0) {
+            List<ProductProjection> previous = repository.searchProducts(List.of(), name, PageRequest.of(page - 1, 12, Sort.by("name", "id"))).getContent();
+            if (!previous.isEmpty()) {
+                ProductProjection last = previous.get(previous.size() - 1);
+                after = new ProductCursor(last.getName(), last.getId()).encode();
+            }
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Page<ProductDTO> findAllPaged() {
+        return service.findAllPaged(name, "0", pageable);
+    }
+
+    @Benchmark
+    public CursorPageDTO<ProductDTO> findAllByCursor() {
+        return service.findAllByCursor(name, "0", after, 12);
+    }
+
+    @Benchmark
+    @SuppressWarnings("unchecked")
+    public Page<ProductDTO> findAllPagedLegacy() {
+        return readOnlyTransaction.execute(status -> {
+            Page<ProductProjection> result = repository.searchProducts(List.of(), name, pageable);
+            List<Long> ids = result.map(x -> x.getId()).toList();
+            List<Product> entities = (List<Product>) Utils.replace(result.getContent(),
+                    repository.searchProductsWithCategories(ids));
+            List<ProductDTO> dtos = entities.stream().map(p -> new ProductDTO(p, p.getCategories())).toList();
+            return new PageImpl<>(dtos, result.getPageable(), result.getTotalElements());
+        });
+    }
+}
@@ -0,0 +1,69 @@
+package br.com.devsuperior.dscatalog.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class TokenIssuanceBenchmark {
+
+    @Param({"jdbc", "none"})
+    private String authorizationStore;
+
+    @Param({"RS256", "ES256"})
+    private String keyAlgorithm;
+
+    private ConfigurableApplicationContext context;
+    private MockMvc mockMvc;
+    private String clientId;
+    private String clientSecret;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start(
+                "security.authorization.store=" + authorizationStore,
+                "security.jwt.key-algorithm=" + keyAlgorithm);
+        mockMvc = MockMvcBuilders.webAppContextSetup((WebApplicationContext) context).apply(springSecurity()).build();
+        clientId = context.getEnvironment().getProperty("security.client-id");
+        clientSecret = context.getEnvironment().getProperty("security.client-secret");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public String issueToken() throws Exception {
+        MvcResult result = mockMvc.perform(post("/oauth2/token")
+                        .param("grant_type", "password")
+                        .param("username", "maria@gmail.com")
+                        .param("password", "123456")
+                        .with(httpBasic(clientId, clientSecret)))
+                .andReturn();
+        if (result.getResponse().getStatus() != 200) {
+            throw new IllegalStateException("Token request failed: " + result.getResponse().getStatus());
+        }
+        return result.getResponse().getContentAsString();
+    }
+}
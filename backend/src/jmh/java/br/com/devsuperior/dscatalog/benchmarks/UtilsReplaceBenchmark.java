@@ -0,0 +1,62 @@
+package br.com.devsuperior.dscatalog.benchmarks;
+
+import br.com.devsuperior.dscatalog.entities.Product;
+import br.com.devsuperior.dscatalog.projections.IdProjection;
+import br.com.devsuperior.dscatalog.projections.ProductProjection;
+import br.com.devsuperior.dscatalog.services.Utils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class UtilsReplaceBenchmark {
+
+    @Param({"12", "100", "1000"})
+    private int size;
+
+    private List<ProductProjection> ordered;
+    private List<Product> unordered;
+
+    @Setup
+    public void setUp() {
+        ordered = new ArrayList<>();
+        unordered = new ArrayList<>();
+        for (long id = 1; id <= size; id++) {
+            ordered.add(new Row(id, "Product " + id));
+            unordered.add(new Product(id, "Product " + id, "Description", 10.0, null, Instant.now()));
+        }
+        Collections.shuffle(unordered, new Random(42));
+    }
+
+    @Benchmark
+    public List<? extends IdProjection<Long>> replace() {
+        return Utils.replace(ordered, unordered);
+    }
+
+    private record Row(Long id, String name) implements ProductProjection {
+
+        @Override
+        public Long getId() {
+            return id;
+        }
+
+        @Override
+        public String getName() {
+            return name;
+        }
+    }
+}
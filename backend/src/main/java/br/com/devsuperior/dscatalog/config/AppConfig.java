@@ -1,15 +1,48 @@
 package br.com.devsuperior.dscatalog.config;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.security.crypto.argon2.Argon2PasswordEncoder;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
+import java.util.HashMap;
+import java.util.Map;
+
 @Configuration
 public class AppConfig {
 
+    @Value("${security.password.encoder}")
+    private String encoderId;
+
+    @Value("${security.password.bcrypt.strength}")
+    private Integer bcryptStrength;
+
+    @Value("${security.password.argon2.memory}")
+    private Integer argon2Memory;
+
+    @Value("${security.password.argon2.iterations}")
+    private Integer argon2Iterations;
+
+    @Value("${security.password.argon2.parallelism}")
+    private Integer argon2Parallelism;
+
+    @Value("${security.password.pbkdf2.iterations}")
+    private Integer pbkdf2Iterations;
+
     @Bean
     public PasswordEncoder passwordEncoder(){
-        return new BCryptPasswordEncoder();
+        PasswordEncoder bcrypt = new BCryptPasswordEncoder(bcryptStrength);
+
+        Map<String, PasswordEncoder> encoders = new HashMap<>();
+        encoders.put("bcrypt", bcrypt);
+        encoders.put("argon2", new Argon2PasswordEncoder(16, 32, argon2Parallelism, argon2Memory, argon2Iterations));
+        encoders.put("pbkdf2", new IteratedPbkdf2PasswordEncoder(pbkdf2Iterations));
+
+        DelegatingPasswordEncoder passwordEncoder = new DelegatingPasswordEncoder(encoderId, encoders);
+        passwordEncoder.setDefaultPasswordEncoderForMatches(bcrypt);
+        return passwordEncoder;
     }
 }
@@ -4,26 +4,35 @@ package br.com.devsuperior.dscatalog.config;
 import br.com.devsuperior.dscatalog.config.customgrant.CustomPasswordAuthenticationConverter;
 import br.com.devsuperior.dscatalog.config.customgrant.CustomPasswordAuthenticationProvider;
 import br.com.devsuperior.dscatalog.config.customgrant.CustomUserAuthorities;
-import com.nimbusds.jose.jwk.JWKSet;
-import com.nimbusds.jose.jwk.RSAKey;
+import br.com.devsuperior.dscatalog.config.customgrant.NoOpOAuth2AuthorizationService;
+import br.com.devsuperior.dscatalog.config.customgrant.PasswordVerificationExecutor;
+import br.com.devsuperior.dscatalog.config.customgrant.TokenEndpointErrorResponseHandler;
+import br.com.devsuperior.dscatalog.config.jwk.JdbcJwkStore;
+import br.com.devsuperior.dscatalog.config.jwk.JwkEncryptor;
+import br.com.devsuperior.dscatalog.config.jwt.CachingJwtDecoder;
+import com.nimbusds.jose.jwk.JWK;
 import com.nimbusds.jose.jwk.source.JWKSource;
 import com.nimbusds.jose.proc.SecurityContext;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.security.config.Customizer;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.oauth2.core.AuthorizationGrantType;
 import org.springframework.security.oauth2.core.OAuth2Token;
-import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jose.jws.SignatureAlgorithm;
 import org.springframework.security.oauth2.jwt.NimbusJwtEncoder;
 import org.springframework.security.oauth2.server.authorization.InMemoryOAuth2AuthorizationConsentService;
 import org.springframework.security.oauth2.server.authorization.InMemoryOAuth2AuthorizationService;
+import org.springframework.security.oauth2.server.authorization.JdbcOAuth2AuthorizationService;
 import org.springframework.security.oauth2.server.authorization.OAuth2AuthorizationConsentService;
 import org.springframework.security.oauth2.server.authorization.OAuth2AuthorizationService;
 import org.springframework.security.oauth2.server.authorization.authentication.OAuth2ClientAuthenticationToken;
@@ -37,15 +46,14 @@ import org.springframework.security.oauth2.server.authorization.settings.ClientS
 import org.springframework.security.oauth2.server.authorization.settings.OAuth2TokenFormat;
 import org.springframework.security.oauth2.server.authorization.settings.TokenSettings;
 import org.springframework.security.oauth2.server.authorization.token.*;
+import org.springframework.security.oauth2.server.resource.authentication.JwtGrantedAuthoritiesConverter;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
-import java.security.KeyPair;
-import java.security.KeyPairGenerator;
-import java.security.interfaces.RSAPrivateKey;
-import java.security.interfaces.RSAPublicKey;
 import java.time.Duration;
 import java.util.List;
-import java.util.UUID;
+import java.util.stream.Collectors;
 
 @Configuration
 public class AuthorizationServerConfig {
@@ -59,24 +67,66 @@ public class AuthorizationServerConfig {
 	@Value("${security.jwt.duration}")
 	private Integer jwtDurationSeconds;
 
+	@Value("${security.jwt.key-algorithm}")
+	private String jwtKeyAlgorithm;
+
+	@Value("${security.jwt.key-rotation-interval}")
+	private Duration jwtKeyRotationInterval;
+
+	@Value("${security.jwt.key-publish-ahead}")
+	private Duration jwtKeyPublishAhead;
+
+	@Value("${security.jwt.key-encryption-key}")
+	private String jwtKeyEncryptionKey;
+
+	@Value("${security.jwt.decoder-cache.maximum-size}")
+	private Long jwtDecoderCacheMaximumSize;
+
+	@Value("${security.authorization.store}")
+	private String authorizationStore;
+
+	@Value("${security.password.verification.max-concurrency}")
+	private Integer verificationMaxConcurrency;
+
+	@Value("${security.password.verification.queue-depth}")
+	private Integer verificationQueueDepth;
+
+	@Value("${security.password.verification.timeout}")
+	private Duration verificationTimeout;
+
+	@Value("${security.password.verification.retry-after}")
+	private Long verificationRetryAfterSeconds;
+
 	@Autowired
 	private PasswordEncoder passwordEncoder;
 
 	@Autowired
 	private UserDetailsService userDetailsService;
 
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
 	@Bean
 	@Order(2)
-	public SecurityFilterChain asSecurityFilterChain(HttpSecurity http) throws Exception {
+	public SecurityFilterChain asSecurityFilterChain(HttpSecurity http, PasswordVerificationExecutor passwordVerificationExecutor) throws Exception {
 
 		http.securityMatcher("/oauth2/**", "/.well-known/**").with(OAuth2AuthorizationServerConfigurer.authorizationServer(),Customizer.withDefaults());
 //		OAuth2AuthorizationServerConfiguration.applyDefaultSecurity(http);
 
+		CustomPasswordAuthenticationProvider authenticationProvider = new CustomPasswordAuthenticationProvider(authorizationService(), tokenGenerator(), userDetailsService, passwordEncoder, passwordVerificationExecutor);
+		if (userDetailsService instanceof UserDetailsPasswordService userDetailsPasswordService) {
+			authenticationProvider.setUserDetailsPasswordService(userDetailsPasswordService);
+		}
+
 		// @formatter:off
 		http.getConfigurer(OAuth2AuthorizationServerConfigurer.class)
 			.tokenEndpoint(tokenEndpoint -> tokenEndpoint
 				.accessTokenRequestConverter(new CustomPasswordAuthenticationConverter())
-				.authenticationProvider(new CustomPasswordAuthenticationProvider(authorizationService(), tokenGenerator(), userDetailsService, passwordEncoder)));
+				.authenticationProvider(authenticationProvider)
+				.errorResponseHandler(new TokenEndpointErrorResponseHandler(verificationRetryAfterSeconds)));
 
 		http.oauth2ResourceServer(oauth2ResourceServer -> oauth2ResourceServer.jwt(Customizer.withDefaults()));
 		// @formatter:on
@@ -84,9 +134,19 @@ public class AuthorizationServerConfig {
 		return http.build();
 	}
 
+	@Bean
+	public PasswordVerificationExecutor passwordVerificationExecutor(MeterRegistry meterRegistry) {
+		return new PasswordVerificationExecutor(verificationMaxConcurrency, verificationQueueDepth, verificationTimeout, meterRegistry);
+	}
+
 	@Bean
 	public OAuth2AuthorizationService authorizationService() {
-		return new InMemoryOAuth2AuthorizationService();
+		return switch (authorizationStore) {
+			case "jdbc" -> new JdbcOAuth2AuthorizationService(jdbcTemplate, registeredClientRepository());
+			case "memory" -> new InMemoryOAuth2AuthorizationService();
+			case "none" -> new NoOpOAuth2AuthorizationService();
+			default -> throw new IllegalStateException("Unknown security.authorization.store: " + authorizationStore);
+		};
 	}
 
 	@Bean
@@ -98,7 +158,7 @@ public class AuthorizationServerConfig {
 	public RegisteredClientRepository registeredClientRepository() {
 		// @formatter:off
 		RegisteredClient registeredClient = RegisteredClient
-			.withId(UUID.randomUUID().toString())
+			.withId(clientId)
 			.clientId(clientId)
 			.clientSecret(passwordEncoder.encode(clientSecret))
 			.scope("read")
@@ -134,7 +194,7 @@ public class AuthorizationServerConfig {
 
 	@Bean
 	public OAuth2TokenGenerator<? extends OAuth2Token> tokenGenerator() {
-		NimbusJwtEncoder jwtEncoder = new NimbusJwtEncoder(jwkSource());
+		NimbusJwtEncoder jwtEncoder = new NimbusJwtEncoder(jwkStore());
 		JwtGenerator jwtGenerator = new JwtGenerator(jwtEncoder);
 		jwtGenerator.setJwtCustomizer(tokenCustomizer());
 		OAuth2AccessTokenGenerator accessTokenGenerator = new OAuth2AccessTokenGenerator();
@@ -146,7 +206,11 @@ public class AuthorizationServerConfig {
 		return context -> {
 			OAuth2ClientAuthenticationToken principal = context.getPrincipal();
 			CustomUserAuthorities user = (CustomUserAuthorities) principal.getDetails();
-			List<String> authorities = user.getAuthorities().stream().map(x -> x.getAuthority()).toList();
+			JWK signingKey = jwkStore().getSigningKey();
+			context.getJwsHeader()
+				.algorithm(SignatureAlgorithm.from(signingKey.getAlgorithm().getName()))
+				.keyId(signingKey.getKeyID());
+			List<String> authorities = user.getAuthorities().stream().map(x -> x.getAuthority()).collect(Collectors.toList());
 			if (context.getTokenType().getValue().equals("access_token")) {
 				// @formatter:off
 				context.getClaims()
@@ -158,33 +222,18 @@ public class AuthorizationServerConfig {
 	}
 
 	@Bean
-	public JwtDecoder jwtDecoder(JWKSource<SecurityContext> jwkSource) {
-		return OAuth2AuthorizationServerConfiguration.jwtDecoder(jwkSource);
+	public CachingJwtDecoder jwtDecoder(JWKSource<SecurityContext> jwkSource, MeterRegistry meterRegistry) {
+		JwtGrantedAuthoritiesConverter authoritiesConverter = new JwtGrantedAuthoritiesConverter();
+		authoritiesConverter.setAuthoritiesClaimName("authorities");
+		authoritiesConverter.setAuthorityPrefix("");
+		return new CachingJwtDecoder(OAuth2AuthorizationServerConfiguration.jwtDecoder(jwkSource), authoritiesConverter,
+				jwtDecoderCacheMaximumSize, meterRegistry);
 	}
 
 	@Bean
-	public JWKSource<SecurityContext> jwkSource() {
-		RSAKey rsaKey = generateRsa();
-		JWKSet jwkSet = new JWKSet(rsaKey);
-		return (jwkSelector, securityContext) -> jwkSelector.select(jwkSet);
-	}
-
-	private static RSAKey generateRsa() {
-		KeyPair keyPair = generateRsaKey();
-		RSAPublicKey publicKey = (RSAPublicKey) keyPair.getPublic();
-		RSAPrivateKey privateKey = (RSAPrivateKey) keyPair.getPrivate();
-		return new RSAKey.Builder(publicKey).privateKey(privateKey).keyID(UUID.randomUUID().toString()).build();
-	}
-
-	private static KeyPair generateRsaKey() {
-		KeyPair keyPair;
-		try {
-			KeyPairGenerator keyPairGenerator = KeyPairGenerator.getInstance("RSA");
-			keyPairGenerator.initialize(2048);
-			keyPair = keyPairGenerator.generateKeyPair();
-		} catch (Exception ex) {
-			throw new IllegalStateException(ex);
-		}
-		return keyPair;
+	public JdbcJwkStore jwkStore() {
+		return new JdbcJwkStore(jdbcTemplate, new TransactionTemplate(transactionManager),
+				new JwkEncryptor(jwtKeyEncryptionKey), jwtKeyAlgorithm, jwtKeyRotationInterval, jwtKeyPublishAhead,
+				Duration.ofSeconds(jwtDurationSeconds));
 	}
 }
@@ -0,0 +1,42 @@
+package br.com.devsuperior.dscatalog.config;
+
+import br.com.devsuperior.dscatalog.config.routing.ReplicaStaleness;
+import br.com.devsuperior.dscatalog.dto.ProductDTO;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    public static final String PRODUCTS = "products";
+    public static final String USER_DETAILS = "userDetails";
+
+    @Value("${cache.products.spec}")
+    private String productsSpec;
+
+    @Value("${cache.user-details.spec}")
+    private String userDetailsSpec;
+
+    @Bean
+    public CacheManager cacheManager(ReplicaStaleness replicaStaleness) {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager() {
+            @Override
+            protected org.springframework.cache.Cache adaptCaffeineCache(String name, Cache<Object, Object> cache) {
+                if (PRODUCTS.equals(name)) {
+                    return new GuardedCaffeineCache(name, cache, value -> new ProductDTO((ProductDTO) value), replicaStaleness.getBound());
+                }
+                return super.adaptCaffeineCache(name, cache);
+            }
+        };
+        cacheManager.registerCustomCache(PRODUCTS, Caffeine.from(productsSpec).build());
+        cacheManager.registerCustomCache(USER_DETAILS, Caffeine.from(userDetailsSpec).build());
+        return cacheManager;
+    }
+}
@@ -0,0 +1,27 @@
+package br.com.devsuperior.dscatalog.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import org.springframework.cache.caffeine.CaffeineCache;
+
+import java.util.function.UnaryOperator;
+
+public class CopyingCaffeineCache extends CaffeineCache {
+
+    private final UnaryOperator<Object> copier;
+
+    public CopyingCaffeineCache(String name, Cache<Object, Object> cache, UnaryOperator<Object> copier) {
+        super(name, cache, false);
+        this.copier = copier;
+    }
+
+    @Override
+    protected Object toStoreValue(Object userValue) {
+        return super.toStoreValue(userValue == null ? null : copier.apply(userValue));
+    }
+
+    @Override
+    protected Object fromStoreValue(Object storeValue) {
+        Object value = super.fromStoreValue(storeValue);
+        return value == null ? null : copier.apply(value);
+    }
+}
@@ -0,0 +1,97 @@
+package br.com.devsuperior.dscatalog.config;
+
+import br.com.devsuperior.dscatalog.config.routing.PrimaryReadAspect;
+import br.com.devsuperior.dscatalog.config.routing.ReplicaPool;
+import br.com.devsuperior.dscatalog.config.routing.ReplicaRoutingDataSource;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Configuration
+@ConditionalOnProperty(name = "datasource.replicas.enabled", havingValue = "true")
+public class DataSourceRoutingConfig {
+
+    @Value("${datasource.replicas.urls}")
+    private String replicaUrls;
+
+    @Value("${datasource.replicas.username}")
+    private String replicaUsername;
+
+    @Value("${datasource.replicas.password}")
+    private String replicaPassword;
+
+    @Value("${datasource.replicas.maximum-pool-size}")
+    private Integer replicaMaximumPoolSize;
+
+    @Value("${datasource.replicas.strategy}")
+    private String strategy;
+
+    @Value("${datasource.replicas.max-lag}")
+    private Duration maxLag;
+
+    @Value("${datasource.replicas.lag-query}")
+    private String lagQuery;
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariConfig primaryHikariConfig(DataSourceProperties properties) {
+        HikariConfig config = new HikariConfig();
+        config.setJdbcUrl(properties.determineUrl());
+        config.setUsername(properties.determineUsername());
+        config.setPassword(properties.determinePassword());
+        config.setDriverClassName(properties.determineDriverClassName());
+        return config;
+    }
+
+    @Bean
+    public ReplicaPool replicaPool(HikariConfig primaryHikariConfig, MeterRegistry meterRegistry) {
+        MicrometerMetricsTrackerFactory metricsTrackerFactory = new MicrometerMetricsTrackerFactory(meterRegistry);
+
+        HikariDataSource primary = new HikariDataSource();
+        primaryHikariConfig.copyStateTo(primary);
+        primary.setPoolName("primary");
+        primary.setMetricsTrackerFactory(metricsTrackerFactory);
+
+        List<HikariDataSource> replicas = new ArrayList<>();
+        String[] urls = replicaUrls.split(",");
+        for (int i = 0; i < urls.length; i++) {
+            HikariDataSource replica = new HikariDataSource();
+            replica.setPoolName("replica-" + i);
+            replica.setJdbcUrl(urls[i].trim());
+            replica.setUsername(replicaUsername);
+            replica.setPassword(replicaPassword);
+            replica.setMaximumPoolSize(replicaMaximumPoolSize);
+            replica.setReadOnly(true);
+            replica.setMetricsTrackerFactory(metricsTrackerFactory);
+            replicas.add(replica);
+        }
+        return new ReplicaPool(primary, replicas, strategy, maxLag, lagQuery, meterRegistry);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicaPool replicaPool, MeterRegistry meterRegistry) {
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(replicaPool.getPrimary());
+        dataSource.setReadOnlyDataSource(new ReplicaRoutingDataSource(replicaPool, meterRegistry));
+        return dataSource;
+    }
+
+    @Bean
+    public PrimaryReadAspect primaryReadAspect() {
+        return new PrimaryReadAspect();
+    }
+}
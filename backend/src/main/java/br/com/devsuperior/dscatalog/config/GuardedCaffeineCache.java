@@ -0,0 +1,75 @@
+package br.com.devsuperior.dscatalog.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.time.Duration;
+import java.util.function.UnaryOperator;
+
+public class GuardedCaffeineCache extends CopyingCaffeineCache {
+
+    private static final Duration EVICTION_MEMORY = Duration.ofMinutes(1);
+
+    private final long staleNanos;
+    private final Cache<Object, Long> evictions;
+    private final ThreadLocal<Miss> lastMiss = new ThreadLocal<>();
+    private volatile long clearedAt;
+
+    public GuardedCaffeineCache(String name, Cache<Object, Object> cache, UnaryOperator<Object> copier, Duration staleness) {
+        super(name, cache, copier);
+        this.staleNanos = staleness.toNanos();
+        this.evictions = Caffeine.newBuilder().expireAfterWrite(EVICTION_MEMORY.plus(staleness)).build();
+        this.clearedAt = System.nanoTime() - staleNanos - 1;
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        ValueWrapper value = super.get(key);
+        if (value == null) {
+            lastMiss.set(new Miss(key, System.nanoTime()));
+        }
+        return value;
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        Miss miss = lastMiss.get();
+        lastMiss.remove();
+        if (miss == null || !miss.key().equals(key)) {
+            return;
+        }
+        Long evictedAt = evictions.getIfPresent(key);
+        // A value read before the last eviction, or within the staleness window after it, may predate the change.
+        if (miss.at() - clearedAt < staleNanos || (evictedAt != null && miss.at() - evictedAt < staleNanos)) {
+            return;
+        }
+        super.put(key, value);
+    }
+
+    @Override
+    public void evict(Object key) {
+        evictions.put(key, System.nanoTime());
+        super.evict(key);
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        evictions.put(key, System.nanoTime());
+        return super.evictIfPresent(key);
+    }
+
+    @Override
+    public void clear() {
+        clearedAt = System.nanoTime();
+        super.clear();
+    }
+
+    @Override
+    public boolean invalidate() {
+        clearedAt = System.nanoTime();
+        return super.invalidate();
+    }
+
+    private record Miss(Object key, long at) {
+    }
+}
@@ -0,0 +1,61 @@
+package br.com.devsuperior.dscatalog.config;
+
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.crypto.password.Pbkdf2PasswordEncoder;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+public class IteratedPbkdf2PasswordEncoder implements PasswordEncoder {
+
+    private static final String SEPARATOR = "$";
+
+    private final int iterations;
+    private final Map<Integer, Pbkdf2PasswordEncoder> encoders = new ConcurrentHashMap<>();
+
+    public IteratedPbkdf2PasswordEncoder(int iterations) {
+        this.iterations = iterations;
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return iterations + SEPARATOR + encoder(iterations).encode(rawPassword);
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        if (encodedPassword == null) {
+            return false;
+        }
+        int separator = encodedPassword.indexOf(SEPARATOR);
+        if (separator < 0) {
+            return encoder(iterations).matches(rawPassword, encodedPassword);
+        }
+        Integer stored = storedIterations(encodedPassword);
+        return stored != null && encoder(stored).matches(rawPassword, encodedPassword.substring(separator + 1));
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        Integer stored = storedIterations(encodedPassword);
+        return stored == null || stored < iterations;
+    }
+
+    private Integer storedIterations(String encodedPassword) {
+        int separator = encodedPassword == null ? -1 : encodedPassword.indexOf(SEPARATOR);
+        if (separator < 0) {
+            return null;
+        }
+        try {
+            return Integer.valueOf(encodedPassword.substring(0, separator));
+        }
+        catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private Pbkdf2PasswordEncoder encoder(int iterations) {
+        return encoders.computeIfAbsent(iterations, count -> new Pbkdf2PasswordEncoder("", 16, count,
+                Pbkdf2PasswordEncoder.SecretKeyFactoryAlgorithm.PBKDF2WithHmacSHA256));
+    }
+}
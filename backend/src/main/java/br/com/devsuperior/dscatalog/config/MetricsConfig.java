@@ -0,0 +1,61 @@
+package br.com.devsuperior.dscatalog.config;
+
+import br.com.devsuperior.dscatalog.config.metrics.QueryBudgetAspect;
+import br.com.devsuperior.dscatalog.config.metrics.QueryMetricsDataSource;
+import br.com.devsuperior.dscatalog.config.metrics.RequestMetricsFilter;
+import br.com.devsuperior.dscatalog.config.metrics.TransactionMetricsListener;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+@Configuration
+public class MetricsConfig {
+
+    @Value("${metrics.query-budget.mode}")
+    private String queryBudgetMode;
+
+    @Value("${metrics.slow-request.enabled}")
+    private Boolean slowRequestLogEnabled;
+
+    @Value("${metrics.slow-request.threshold}")
+    private Duration slowRequestThreshold;
+
+    @Bean
+    public static BeanPostProcessor queryMetricsDataSourcePostProcessor(ObjectProvider<MeterRegistry> meterRegistry) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof QueryMetricsDataSource)) {
+                    return new QueryMetricsDataSource(dataSource, meterRegistry.getObject());
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    public FilterRegistrationBean<RequestMetricsFilter> requestMetricsFilter(MeterRegistry meterRegistry) {
+        FilterRegistrationBean<RequestMetricsFilter> bean = new FilterRegistrationBean<>(
+                new RequestMetricsFilter(meterRegistry, slowRequestLogEnabled, slowRequestThreshold));
+        bean.setOrder(Ordered.HIGHEST_PRECEDENCE + 1);
+        return bean;
+    }
+
+    @Bean
+    public TransactionMetricsListener transactionMetricsListener(MeterRegistry meterRegistry) {
+        return new TransactionMetricsListener(meterRegistry);
+    }
+
+    @Bean
+    public QueryBudgetAspect queryBudgetAspect(MeterRegistry meterRegistry) {
+        return new QueryBudgetAspect(meterRegistry, "fail".equals(queryBudgetMode));
+    }
+}
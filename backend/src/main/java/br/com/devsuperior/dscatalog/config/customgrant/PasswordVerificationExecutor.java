@@ -0,0 +1,75 @@
+package br.com.devsuperior.dscatalog.config.customgrant;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.time.Duration;
+import java.util.concurrent.Callable;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class PasswordVerificationExecutor {
+
+	private final AtomicInteger pending = new AtomicInteger();
+	private final Semaphore permits;
+	private final int maxPending;
+	private final Duration timeout;
+	private final Timer queueTimer;
+	private final Timer verificationTimer;
+	private final Counter rejectedCounter;
+
+	public PasswordVerificationExecutor(int maxConcurrency, int queueDepth, Duration timeout, MeterRegistry meterRegistry) {
+		this.permits = new Semaphore(maxConcurrency, true);
+		this.maxPending = maxConcurrency + queueDepth;
+		this.timeout = timeout;
+		this.queueTimer = meterRegistry.timer("dscatalog.password.verification.queue");
+		this.verificationTimer = meterRegistry.timer("dscatalog.password.verification.time");
+		this.rejectedCounter = meterRegistry.counter("dscatalog.password.verification.rejected");
+		meterRegistry.gauge("dscatalog.password.verification.pending", pending);
+	}
+
+	public <T> T execute(Callable<T> task) {
+		if (pending.incrementAndGet() > maxPending) {
+			pending.decrementAndGet();
+			rejectedCounter.increment();
+			throw new RejectedExecutionException("Password verification queue is full");
+		}
+
+		try {
+			long queuedAt = System.nanoTime();
+			acquire();
+			try {
+				queueTimer.record(System.nanoTime() - queuedAt, TimeUnit.NANOSECONDS);
+				return verificationTimer.recordCallable(task);
+			}
+			catch (RuntimeException | Error e) {
+				throw e;
+			}
+			catch (Exception e) {
+				throw new IllegalStateException(e);
+			}
+			finally {
+				permits.release();
+			}
+		}
+		finally {
+			pending.decrementAndGet();
+		}
+	}
+
+	private void acquire() {
+		try {
+			if (!permits.tryAcquire(timeout.toNanos(), TimeUnit.NANOSECONDS)) {
+				rejectedCounter.increment();
+				throw new RejectedExecutionException("Password verification timed out in queue");
+			}
+		}
+		catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new RejectedExecutionException("Interrupted while waiting for password verification", e);
+		}
+	}
+}
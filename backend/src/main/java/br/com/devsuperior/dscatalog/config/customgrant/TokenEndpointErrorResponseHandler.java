@@ -0,0 +1,44 @@
+package br.com.devsuperior.dscatalog.config.customgrant;
+
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServletServerHttpResponse;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.security.oauth2.core.OAuth2AuthenticationException;
+import org.springframework.security.oauth2.core.OAuth2Error;
+import org.springframework.security.oauth2.core.OAuth2ErrorCodes;
+import org.springframework.security.oauth2.core.http.converter.OAuth2ErrorHttpMessageConverter;
+import org.springframework.security.oauth2.server.authorization.web.authentication.OAuth2ErrorAuthenticationFailureHandler;
+import org.springframework.security.web.authentication.AuthenticationFailureHandler;
+
+import java.io.IOException;
+
+public class TokenEndpointErrorResponseHandler implements AuthenticationFailureHandler {
+
+	private final AuthenticationFailureHandler defaultHandler = new OAuth2ErrorAuthenticationFailureHandler();
+	private final HttpMessageConverter<OAuth2Error> errorConverter = new OAuth2ErrorHttpMessageConverter();
+	private final long retryAfterSeconds;
+
+	public TokenEndpointErrorResponseHandler(long retryAfterSeconds) {
+		this.retryAfterSeconds = retryAfterSeconds;
+	}
+
+	@Override
+	public void onAuthenticationFailure(HttpServletRequest request, HttpServletResponse response,
+			AuthenticationException exception) throws IOException, ServletException {
+
+		if (exception instanceof OAuth2AuthenticationException oauth2Exception
+				&& OAuth2ErrorCodes.TEMPORARILY_UNAVAILABLE.equals(oauth2Exception.getError().getErrorCode())) {
+			ServletServerHttpResponse httpResponse = new ServletServerHttpResponse(response);
+			httpResponse.setStatusCode(HttpStatus.SERVICE_UNAVAILABLE);
+			httpResponse.getHeaders().set(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+			errorConverter.write(oauth2Exception.getError(), null, httpResponse);
+			return;
+		}
+		defaultHandler.onAuthenticationFailure(request, response, exception);
+	}
+}
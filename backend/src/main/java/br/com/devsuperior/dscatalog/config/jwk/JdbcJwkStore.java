@@ -0,0 +1,147 @@
+package br.com.devsuperior.dscatalog.config.jwk;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.jwk.Curve;
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.JWKSelector;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.KeyUse;
+import com.nimbusds.jose.jwk.gen.ECKeyGenerator;
+import com.nimbusds.jose.jwk.gen.RSAKeyGenerator;
+import com.nimbusds.jose.jwk.source.JWKSource;
+import com.nimbusds.jose.proc.SecurityContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+public class JdbcJwkStore implements JWKSource<SecurityContext> {
+
+	private static final Logger logger = LoggerFactory.getLogger(JdbcJwkStore.class);
+
+	private final JdbcTemplate jdbcTemplate;
+	private final TransactionTemplate transactionTemplate;
+	private final JwkEncryptor encryptor;
+	private final JWSAlgorithm algorithm;
+	private final Duration rotationInterval;
+	private final Duration publishAhead;
+	private final Duration retention;
+
+	private volatile JWKSet jwkSet = new JWKSet();
+	private volatile JWK signingKey;
+
+	public JdbcJwkStore(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate, JwkEncryptor encryptor,
+			String algorithm, Duration rotationInterval, Duration publishAhead, Duration retention) {
+		this.jdbcTemplate = jdbcTemplate;
+		this.transactionTemplate = transactionTemplate;
+		this.encryptor = encryptor;
+		this.algorithm = JWSAlgorithm.parse(algorithm);
+		this.rotationInterval = rotationInterval;
+		this.publishAhead = publishAhead;
+		this.retention = retention;
+		if (!JWSAlgorithm.RS256.equals(this.algorithm) && !JWSAlgorithm.ES256.equals(this.algorithm)) {
+			throw new IllegalArgumentException("Unsupported JWT signing algorithm: " + algorithm);
+		}
+		refresh();
+	}
+
+	@Override
+	public List<JWK> get(JWKSelector jwkSelector, SecurityContext context) {
+		return jwkSelector.select(jwkSet);
+	}
+
+	public JWK getSigningKey() {
+		return signingKey;
+	}
+
+	@Scheduled(fixedDelayString = "${security.jwt.key-check-interval}", initialDelayString = "${security.jwt.key-check-interval}")
+	public synchronized void refresh() {
+		Instant now = Instant.now();
+		List<StoredKey> keys = loadKeys();
+
+		if (keys.isEmpty() || needsRotation(keys.get(0), now)) {
+			keys = transactionTemplate.execute(status -> {
+				jdbcTemplate.queryForObject("SELECT id FROM oauth2_jwk_lock WHERE id = 1 FOR UPDATE", Integer.class);
+				List<StoredKey> locked = loadKeys();
+				if (locked.isEmpty()) {
+					locked.add(insertKey(now));
+				}
+				else if (needsRotation(locked.get(0), now)) {
+					locked.add(0, insertKey(now.plus(publishAhead)));
+				}
+				return locked;
+			});
+		}
+
+		List<JWK> published = new ArrayList<>();
+		JWK current = null;
+		Instant successorActivation = null;
+		for (StoredKey key : keys) {
+			if (current == null && !key.activatesAt().isAfter(now)) {
+				current = key.jwk();
+				published.add(key.jwk());
+			}
+			else if (current == null || successorActivation.plus(retention).isAfter(now)) {
+				published.add(key.jwk());
+			}
+			else {
+				jdbcTemplate.update("DELETE FROM oauth2_jwk WHERE kid = ?", key.jwk().getKeyID());
+				logger.info("Removed retired JWK {}", key.jwk().getKeyID());
+			}
+			successorActivation = key.activatesAt();
+		}
+		if (current == null && !keys.isEmpty()) {
+			// only keys stamped ahead of this node's clock: sign with the oldest one
+			current = keys.get(keys.size() - 1).jwk();
+		}
+
+		signingKey = current;
+		jwkSet = new JWKSet(published);
+	}
+
+	private boolean needsRotation(StoredKey newest, Instant now) {
+		if (newest.activatesAt().isAfter(now)) {
+			return false;
+		}
+		return !algorithm.equals(newest.jwk().getAlgorithm())
+				|| !newest.activatesAt().plus(rotationInterval).isAfter(now.plus(publishAhead));
+	}
+
+	private List<StoredKey> loadKeys() {
+		return new ArrayList<>(jdbcTemplate.query("SELECT jwk, activates_at FROM oauth2_jwk ORDER BY activates_at DESC",
+				(rs, rowNum) -> new StoredKey(encryptor.decrypt(rs.getString("jwk")), rs.getTimestamp("activates_at").toInstant())));
+	}
+
+	private StoredKey insertKey(Instant activatesAt) {
+		JWK jwk = generate();
+		jdbcTemplate.update("INSERT INTO oauth2_jwk (kid, algorithm, jwk, activates_at) VALUES (?, ?, ?, ?)",
+				jwk.getKeyID(), algorithm.getName(), encryptor.encrypt(jwk), Timestamp.from(activatesAt));
+		logger.info("Generated {} JWK {} active from {}", algorithm.getName(), jwk.getKeyID(), activatesAt);
+		return new StoredKey(jwk, activatesAt);
+	}
+
+	private JWK generate() {
+		String kid = UUID.randomUUID().toString();
+		try {
+			if (JWSAlgorithm.ES256.equals(algorithm)) {
+				return new ECKeyGenerator(Curve.P_256).keyID(kid).algorithm(algorithm).keyUse(KeyUse.SIGNATURE).generate();
+			}
+			return new RSAKeyGenerator(2048).keyID(kid).algorithm(algorithm).keyUse(KeyUse.SIGNATURE).generate();
+		}
+		catch (JOSEException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	private record StoredKey(JWK jwk, Instant activatesAt) {
+	}
+}
@@ -0,0 +1,58 @@
+package br.com.devsuperior.dscatalog.config.jwk;
+
+import com.nimbusds.jose.EncryptionMethod;
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWEAlgorithm;
+import com.nimbusds.jose.JWEHeader;
+import com.nimbusds.jose.JWEObject;
+import com.nimbusds.jose.Payload;
+import com.nimbusds.jose.crypto.DirectDecrypter;
+import com.nimbusds.jose.crypto.DirectEncrypter;
+import com.nimbusds.jose.jwk.JWK;
+
+import javax.crypto.SecretKey;
+import javax.crypto.spec.SecretKeySpec;
+import java.text.ParseException;
+import java.util.Base64;
+
+public class JwkEncryptor {
+
+	private final SecretKey keyEncryptionKey;
+
+	public JwkEncryptor(String keyEncryptionKey) {
+		byte[] key;
+		try {
+			key = Base64.getDecoder().decode(keyEncryptionKey.trim());
+		}
+		catch (IllegalArgumentException e) {
+			throw new IllegalArgumentException("JWT key encryption key must be base64 encoded", e);
+		}
+		if (key.length != 32) {
+			throw new IllegalArgumentException("JWT key encryption key must be 256 bits, got " + key.length * 8);
+		}
+		this.keyEncryptionKey = new SecretKeySpec(key, "AES");
+	}
+
+	public String encrypt(JWK jwk) {
+		try {
+			JWEObject jwe = new JWEObject(new JWEHeader(JWEAlgorithm.DIR, EncryptionMethod.A256GCM),
+					new Payload(jwk.toJSONString()));
+			jwe.encrypt(new DirectEncrypter(keyEncryptionKey));
+			return jwe.serialize();
+		}
+		catch (JOSEException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	public JWK decrypt(String value) {
+		try {
+			JWEObject jwe = JWEObject.parse(value);
+			jwe.decrypt(new DirectDecrypter(keyEncryptionKey));
+			return JWK.parse(jwe.getPayload().toString());
+		}
+		catch (ParseException | JOSEException e) {
+			throw new IllegalStateException("Cannot decrypt JWK in oauth2_jwk", e);
+		}
+	}
+}
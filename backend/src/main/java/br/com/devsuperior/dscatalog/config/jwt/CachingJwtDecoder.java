@@ -0,0 +1,109 @@
+package br.com.devsuperior.dscatalog.config.jwt;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtException;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Collection;
+
+public class CachingJwtDecoder implements JwtDecoder, Converter<Jwt, Collection<GrantedAuthority>> {
+
+	private static final String CACHE_NAME = "jwtDecoder";
+
+	private final JwtDecoder delegate;
+	private final Converter<Jwt, Collection<GrantedAuthority>> authoritiesConverter;
+	private final Cache<String, CachedJwt> cache;
+
+	public CachingJwtDecoder(JwtDecoder delegate, Converter<Jwt, Collection<GrantedAuthority>> authoritiesConverter,
+			long maximumSize, MeterRegistry meterRegistry) {
+		this.delegate = delegate;
+		this.authoritiesConverter = authoritiesConverter;
+		this.cache = Caffeine.newBuilder()
+				.maximumSize(maximumSize)
+				.expireAfter(new ExpiresAtTokenExpiry())
+				.recordStats()
+				.build();
+		CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME,
+				Tags.of("cache.manager", CACHE_NAME, "name", CACHE_NAME));
+	}
+
+	@Override
+	public Jwt decode(String token) throws JwtException {
+		String key = digest(token);
+		CachedJwt cached = cache.getIfPresent(key);
+		if (cached != null) {
+			return cached.jwt;
+		}
+		Jwt jwt = delegate.decode(token);
+		if (jwt.getExpiresAt() != null && jwt.getExpiresAt().isAfter(Instant.now())) {
+			cache.put(key, new CachedJwt(jwt));
+		}
+		return jwt;
+	}
+
+	@Override
+	public Collection<GrantedAuthority> convert(Jwt jwt) {
+		CachedJwt cached = cache.getIfPresent(digest(jwt.getTokenValue()));
+		if (cached == null || cached.jwt != jwt) {
+			return authoritiesConverter.convert(jwt);
+		}
+		Collection<GrantedAuthority> authorities = cached.authorities;
+		if (authorities == null) {
+			authorities = authoritiesConverter.convert(jwt);
+			cached.authorities = authorities;
+		}
+		return authorities;
+	}
+
+	private static String digest(String token) {
+		try {
+			byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+			return Base64.getUrlEncoder().withoutPadding().encodeToString(hash);
+		}
+		catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	private static class CachedJwt {
+
+		private final Jwt jwt;
+		private volatile Collection<GrantedAuthority> authorities;
+
+		private CachedJwt(Jwt jwt) {
+			this.jwt = jwt;
+		}
+	}
+
+	private static class ExpiresAtTokenExpiry implements Expiry<String, CachedJwt> {
+
+		@Override
+		public long expireAfterCreate(String key, CachedJwt value, long currentTime) {
+			return Math.max(0, Duration.between(Instant.now(), value.jwt.getExpiresAt()).toNanos());
+		}
+
+		@Override
+		public long expireAfterUpdate(String key, CachedJwt value, long currentTime, long currentDuration) {
+			return expireAfterCreate(key, value, currentTime);
+		}
+
+		@Override
+		public long expireAfterRead(String key, CachedJwt value, long currentTime, long currentDuration) {
+			return currentDuration;
+		}
+	}
+}
@@ -0,0 +1,61 @@
+package br.com.devsuperior.dscatalog.config.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+
+@Aspect
+public class QueryBudgetAspect {
+
+	private static final Logger logger = LoggerFactory.getLogger(QueryBudgetAspect.class);
+
+	private final MeterRegistry meterRegistry;
+	private final boolean failOnExceeded;
+
+	public QueryBudgetAspect(MeterRegistry meterRegistry, boolean failOnExceeded) {
+		this.meterRegistry = meterRegistry;
+		this.failOnExceeded = failOnExceeded;
+	}
+
+	@Around("@annotation(budget)")
+	public Object enforce(ProceedingJoinPoint joinPoint, QueryBudget budget) throws Throwable {
+		QueryStatistics statistics = QueryStatistics.current();
+		boolean owner = statistics == null;
+		if (owner) {
+			statistics = QueryStatistics.start();
+		}
+		int before = statistics.getCount();
+		int recordedBefore = statistics.getQueries().size();
+		Object result;
+		try {
+			result = joinPoint.proceed();
+		}
+		finally {
+			if (owner) {
+				QueryStatistics.clear();
+			}
+		}
+
+		int used = statistics.getCount() - before;
+		if (used > budget.value()) {
+			String method = joinPoint.getSignature().getDeclaringType().getSimpleName() + "." + joinPoint.getSignature().getName();
+			List<QueryStatistics.Query> queries = statistics.getQueries().subList(recordedBefore, statistics.getQueries().size());
+			StringBuilder message = new StringBuilder(String.format("Query budget exceeded by %s: %d statements, budget %d",
+					method, used, budget.value()));
+			for (QueryStatistics.Query query : queries) {
+				message.append(String.format("%n  %s", query.sql().replaceAll("\\s+", " ").trim()));
+			}
+			meterRegistry.counter("dscatalog.query.budget.exceeded", "method", method).increment();
+			if (failOnExceeded) {
+				throw new QueryBudgetExceededException(message.toString());
+			}
+			logger.warn(message.toString());
+		}
+		return result;
+	}
+}
@@ -0,0 +1,8 @@
+package br.com.devsuperior.dscatalog.config.metrics;
+
+public class QueryBudgetExceededException extends IllegalStateException {
+
+	public QueryBudgetExceededException(String msg) {
+		super(msg);
+	}
+}
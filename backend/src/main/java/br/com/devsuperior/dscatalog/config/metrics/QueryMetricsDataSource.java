@@ -0,0 +1,86 @@
+package br.com.devsuperior.dscatalog.config.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.TimeUnit;
+
+public class QueryMetricsDataSource extends DelegatingDataSource {
+
+	private final Timer statementTimer;
+
+	public QueryMetricsDataSource(DataSource targetDataSource, MeterRegistry meterRegistry) {
+		super(targetDataSource);
+		this.statementTimer = Timer.builder("dscatalog.jdbc.statements")
+				.publishPercentiles(0.5, 0.95, 0.99)
+				.register(meterRegistry);
+	}
+
+	@Override
+	public Connection getConnection() throws SQLException {
+		return wrap(super.getConnection());
+	}
+
+	@Override
+	public Connection getConnection(String username, String password) throws SQLException {
+		return wrap(super.getConnection(username, password));
+	}
+
+	private Connection wrap(Connection connection) {
+		return (Connection) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{Connection.class},
+				(proxy, method, args) -> {
+					Object result = invoke(connection, method, args);
+					if (result instanceof Statement statement && method.getName().startsWith("prepare")) {
+						return wrap(statement, (String) args[0]);
+					}
+					if (result instanceof Statement statement) {
+						return wrap(statement, null);
+					}
+					return result;
+				});
+	}
+
+	private Statement wrap(Statement statement, String preparedSql) {
+		Class<?> type = statement instanceof CallableStatement ? CallableStatement.class
+				: statement instanceof PreparedStatement ? PreparedStatement.class : Statement.class;
+		return (Statement) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{type},
+				(proxy, method, args) -> {
+					if (!method.getName().startsWith("execute")) {
+						return invoke(statement, method, args);
+					}
+					long start = System.nanoTime();
+					try {
+						return invoke(statement, method, args);
+					}
+					finally {
+						long elapsed = System.nanoTime() - start;
+						statementTimer.record(elapsed, TimeUnit.NANOSECONDS);
+						QueryStatistics statistics = QueryStatistics.current();
+						if (statistics != null) {
+							String sql = preparedSql != null ? preparedSql
+									: args != null && args.length > 0 && args[0] instanceof String s ? s : "<batch>";
+							statistics.record(sql, elapsed);
+						}
+					}
+				});
+	}
+
+	private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+		try {
+			return method.invoke(target, args);
+		}
+		catch (InvocationTargetException e) {
+			throw e.getTargetException();
+		}
+	}
+}
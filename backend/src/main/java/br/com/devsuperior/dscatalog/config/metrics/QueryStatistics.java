@@ -0,0 +1,52 @@
+package br.com.devsuperior.dscatalog.config.metrics;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+public class QueryStatistics {
+
+	private static final int MAX_RECORDED_QUERIES = 50;
+	private static final ThreadLocal<QueryStatistics> CURRENT = new ThreadLocal<>();
+
+	private int count;
+	private long nanos;
+	private final List<Query> queries = new ArrayList<>();
+
+	public static QueryStatistics start() {
+		QueryStatistics statistics = new QueryStatistics();
+		CURRENT.set(statistics);
+		return statistics;
+	}
+
+	public static QueryStatistics current() {
+		return CURRENT.get();
+	}
+
+	public static void clear() {
+		CURRENT.remove();
+	}
+
+	void record(String sql, long elapsedNanos) {
+		count++;
+		nanos += elapsedNanos;
+		if (queries.size() < MAX_RECORDED_QUERIES) {
+			queries.add(new Query(sql, elapsedNanos));
+		}
+	}
+
+	public int getCount() {
+		return count;
+	}
+
+	public long getNanos() {
+		return nanos;
+	}
+
+	public List<Query> getQueries() {
+		return Collections.unmodifiableList(queries);
+	}
+
+	public record Query(String sql, long nanos) {
+	}
+}
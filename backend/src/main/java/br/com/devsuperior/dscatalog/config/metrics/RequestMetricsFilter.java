@@ -0,0 +1,78 @@
+package br.com.devsuperior.dscatalog.config.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+public class RequestMetricsFilter extends OncePerRequestFilter {
+
+	private static final Logger logger = LoggerFactory.getLogger(RequestMetricsFilter.class);
+
+	private final MeterRegistry meterRegistry;
+	private final boolean slowRequestLogEnabled;
+	private final Duration slowRequestThreshold;
+
+	public RequestMetricsFilter(MeterRegistry meterRegistry, boolean slowRequestLogEnabled, Duration slowRequestThreshold) {
+		this.meterRegistry = meterRegistry;
+		this.slowRequestLogEnabled = slowRequestLogEnabled;
+		this.slowRequestThreshold = slowRequestThreshold;
+	}
+
+	@Override
+	protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+			throws ServletException, IOException {
+		QueryStatistics statistics = QueryStatistics.start();
+		long start = System.nanoTime();
+		try {
+			filterChain.doFilter(request, response);
+		}
+		finally {
+			long elapsed = System.nanoTime() - start;
+			QueryStatistics.clear();
+			record(request, response, statistics, elapsed);
+		}
+	}
+
+	private void record(HttpServletRequest request, HttpServletResponse response, QueryStatistics statistics, long elapsed) {
+		Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+		String uri = pattern != null ? pattern.toString() : "UNKNOWN";
+
+		DistributionSummary.builder("dscatalog.http.sql.statements")
+				.tag("method", request.getMethod())
+				.tag("uri", uri)
+				.publishPercentiles(0.5, 0.95, 0.99)
+				.register(meterRegistry)
+				.record(statistics.getCount());
+		Timer.builder("dscatalog.http.sql.time")
+				.tag("method", request.getMethod())
+				.tag("uri", uri)
+				.publishPercentiles(0.5, 0.95, 0.99)
+				.register(meterRegistry)
+				.record(statistics.getNanos(), TimeUnit.NANOSECONDS);
+
+		if (slowRequestLogEnabled && elapsed >= slowRequestThreshold.toNanos()) {
+			StringBuilder message = new StringBuilder();
+			message.append(String.format("Slow request %s %s -> %d in %d ms, %d SQL statements in %d ms",
+					request.getMethod(), request.getRequestURI(), response.getStatus(),
+					TimeUnit.NANOSECONDS.toMillis(elapsed), statistics.getCount(),
+					TimeUnit.NANOSECONDS.toMillis(statistics.getNanos())));
+			for (QueryStatistics.Query query : statistics.getQueries()) {
+				message.append(String.format("%n  %6.2f ms  %s", query.nanos() / 1_000_000.0,
+						query.sql().replaceAll("\\s+", " ").trim()));
+			}
+			logger.warn(message.toString());
+		}
+	}
+}
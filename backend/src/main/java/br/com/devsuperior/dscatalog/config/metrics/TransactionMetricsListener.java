@@ -0,0 +1,56 @@
+package br.com.devsuperior.dscatalog.config.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.transaction.TransactionExecution;
+import org.springframework.transaction.TransactionExecutionListener;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+public class TransactionMetricsListener implements TransactionExecutionListener {
+
+	private final MeterRegistry meterRegistry;
+	private final Map<TransactionExecution, Long> started = new ConcurrentHashMap<>();
+
+	public TransactionMetricsListener(MeterRegistry meterRegistry) {
+		this.meterRegistry = meterRegistry;
+	}
+
+	@Override
+	public void beforeBegin(TransactionExecution transaction) {
+		started.put(transaction, System.nanoTime());
+	}
+
+	@Override
+	public void afterBegin(TransactionExecution transaction, Throwable beginFailure) {
+		if (beginFailure != null) {
+			started.remove(transaction);
+		}
+	}
+
+	@Override
+	public void afterCommit(TransactionExecution transaction, Throwable commitFailure) {
+		record(transaction, commitFailure == null ? "commit" : "commit-failure");
+	}
+
+	@Override
+	public void afterRollback(TransactionExecution transaction, Throwable rollbackFailure) {
+		record(transaction, "rollback");
+	}
+
+	private void record(TransactionExecution transaction, String outcome) {
+		Long start = started.remove(transaction);
+		if (start == null) {
+			return;
+		}
+		Timer.builder("dscatalog.transactions")
+				.tag("name", transaction.getTransactionName())
+				.tag("read-only", String.valueOf(transaction.isReadOnly()))
+				.tag("outcome", outcome)
+				.publishPercentiles(0.5, 0.95, 0.99)
+				.register(meterRegistry)
+				.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+	}
+}
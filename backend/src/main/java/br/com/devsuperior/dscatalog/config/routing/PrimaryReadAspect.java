@@ -0,0 +1,29 @@
+package br.com.devsuperior.dscatalog.config.routing;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+
+@Aspect
+public class PrimaryReadAspect {
+
+	private static final ThreadLocal<Boolean> FORCED = new ThreadLocal<>();
+
+	public static boolean isForced() {
+		return FORCED.get() != null;
+	}
+
+	@Around("@annotation(br.com.devsuperior.dscatalog.config.routing.PrimaryRead)")
+	public Object forcePrimary(ProceedingJoinPoint joinPoint) throws Throwable {
+		if (isForced()) {
+			return joinPoint.proceed();
+		}
+		FORCED.set(Boolean.TRUE);
+		try {
+			return joinPoint.proceed();
+		}
+		finally {
+			FORCED.remove();
+		}
+	}
+}
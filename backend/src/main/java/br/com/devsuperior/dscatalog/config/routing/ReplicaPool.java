@@ -0,0 +1,134 @@
+package br.com.devsuperior.dscatalog.config.routing;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class ReplicaPool implements DisposableBean {
+
+	public static final String ROUND_ROBIN = "round-robin";
+	public static final String LEAST_CONNECTIONS = "least-connections";
+
+	private static final Logger logger = LoggerFactory.getLogger(ReplicaPool.class);
+
+	private final HikariDataSource primary;
+	private final List<Replica> replicas;
+	private final String strategy;
+	private final Duration maxLag;
+	private final String lagQuery;
+	private final AtomicInteger next = new AtomicInteger();
+
+	public ReplicaPool(HikariDataSource primary, List<HikariDataSource> replicas, String strategy, Duration maxLag,
+			String lagQuery, MeterRegistry meterRegistry) {
+		if (!ROUND_ROBIN.equals(strategy) && !LEAST_CONNECTIONS.equals(strategy)) {
+			throw new IllegalArgumentException("Unsupported replica selection strategy: " + strategy);
+		}
+		this.primary = primary;
+		this.strategy = strategy;
+		this.maxLag = maxLag;
+		this.lagQuery = lagQuery == null || lagQuery.isBlank() ? null : lagQuery;
+		this.replicas = new ArrayList<>();
+		for (HikariDataSource dataSource : replicas) {
+			Replica replica = new Replica(dataSource);
+			this.replicas.add(replica);
+			Gauge.builder("dscatalog.datasource.replica.healthy", replica, r -> r.healthy ? 1 : 0)
+					.tag("pool", dataSource.getPoolName())
+					.register(meterRegistry);
+			Gauge.builder("dscatalog.datasource.replica.lag", replica, r -> r.lagSeconds)
+					.tag("pool", dataSource.getPoolName())
+					.baseUnit("seconds")
+					.register(meterRegistry);
+		}
+		refresh();
+	}
+
+	public HikariDataSource getPrimary() {
+		return primary;
+	}
+
+	public List<HikariDataSource> getReplicas() {
+		return replicas.stream().map(Replica::dataSource).toList();
+	}
+
+	public HikariDataSource select() {
+		List<Replica> healthy = replicas.stream().filter(r -> r.healthy).toList();
+		if (healthy.isEmpty()) {
+			return null;
+		}
+		if (LEAST_CONNECTIONS.equals(strategy)) {
+			Replica selected = healthy.get(0);
+			for (Replica replica : healthy) {
+				if (activeConnections(replica) < activeConnections(selected)) {
+					selected = replica;
+				}
+			}
+			return selected.dataSource();
+		}
+		return healthy.get(Math.floorMod(next.getAndIncrement(), healthy.size())).dataSource();
+	}
+
+	@Scheduled(fixedDelayString = "${datasource.replicas.check-interval}", initialDelayString = "${datasource.replicas.check-interval}")
+	public void refresh() {
+		for (Replica replica : replicas) {
+			boolean healthy;
+			try (Connection connection = replica.dataSource().getConnection()) {
+				double lag = lagQuery == null ? 0 : queryLag(connection);
+				replica.lagSeconds = lag;
+				healthy = lag <= maxLag.toMillis() / 1000.0;
+			}
+			catch (Exception e) {
+				logger.warn("Replica {} is unavailable: {}", replica.dataSource().getPoolName(), e.getMessage());
+				healthy = false;
+			}
+			if (healthy != replica.healthy) {
+				logger.info("Replica {} is now {}", replica.dataSource().getPoolName(), healthy ? "in rotation" : "out of rotation");
+			}
+			replica.healthy = healthy;
+		}
+	}
+
+	@Override
+	public void destroy() {
+		replicas.forEach(replica -> replica.dataSource().close());
+		primary.close();
+	}
+
+	private double queryLag(Connection connection) throws Exception {
+		try (Statement statement = connection.createStatement(); ResultSet rs = statement.executeQuery(lagQuery)) {
+			return rs.next() ? rs.getDouble(1) : 0;
+		}
+	}
+
+	private int activeConnections(Replica replica) {
+		HikariPoolMXBean pool = replica.dataSource().getHikariPoolMXBean();
+		return pool == null ? 0 : pool.getActiveConnections();
+	}
+
+	private static final class Replica {
+
+		private final HikariDataSource dataSource;
+		private volatile boolean healthy;
+		private volatile double lagSeconds;
+
+		private Replica(HikariDataSource dataSource) {
+			this.dataSource = dataSource;
+		}
+
+		private HikariDataSource dataSource() {
+			return dataSource;
+		}
+	}
+}
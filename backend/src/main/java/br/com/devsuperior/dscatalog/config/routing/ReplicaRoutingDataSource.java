@@ -0,0 +1,43 @@
+package br.com.devsuperior.dscatalog.config.routing;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+public class ReplicaRoutingDataSource extends AbstractDataSource {
+
+	private final ReplicaPool pool;
+	private final MeterRegistry meterRegistry;
+
+	public ReplicaRoutingDataSource(ReplicaPool pool, MeterRegistry meterRegistry) {
+		this.pool = pool;
+		this.meterRegistry = meterRegistry;
+	}
+
+	@Override
+	public Connection getConnection() throws SQLException {
+		return route().getConnection();
+	}
+
+	@Override
+	public Connection getConnection(String username, String password) throws SQLException {
+		return route().getConnection(username, password);
+	}
+
+	private HikariDataSource route() {
+		if (PrimaryReadAspect.isForced()) {
+			meterRegistry.counter("dscatalog.datasource.routes", "pool", pool.getPrimary().getPoolName(), "fallback", "false").increment();
+			return pool.getPrimary();
+		}
+		HikariDataSource replica = pool.select();
+		if (replica == null) {
+			meterRegistry.counter("dscatalog.datasource.routes", "pool", pool.getPrimary().getPoolName(), "fallback", "true").increment();
+			return pool.getPrimary();
+		}
+		meterRegistry.counter("dscatalog.datasource.routes", "pool", replica.getPoolName(), "fallback", "false").increment();
+		return replica;
+	}
+}
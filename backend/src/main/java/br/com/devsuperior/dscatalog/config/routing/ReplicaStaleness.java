@@ -0,0 +1,23 @@
+package br.com.devsuperior.dscatalog.config.routing;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Component
+public class ReplicaStaleness {
+
+	private final Duration bound;
+
+	public ReplicaStaleness(@Value("${datasource.replicas.enabled}") boolean enabled,
+			@Value("${datasource.replicas.max-lag}") Duration maxLag,
+			@Value("${datasource.replicas.check-interval}") Duration checkInterval) {
+		// A replica is only re-checked every interval, so it may fall up to max-lag plus one interval behind.
+		this.bound = enabled ? maxLag.plus(checkInterval) : Duration.ZERO;
+	}
+
+	public Duration getBound() {
+		return bound;
+	}
+}
@@ -0,0 +1,43 @@
+package br.com.devsuperior.dscatalog.dto;
+
+import java.util.List;
+
+public class CategoryAssignmentDTO {
+
+    private List<Long> productIds;
+    private String name;
+    private String categoryId;
+
+    public CategoryAssignmentDTO() {
+    }
+
+    public CategoryAssignmentDTO(List<Long> productIds, String name, String categoryId) {
+        this.productIds = productIds;
+        this.name = name;
+        this.categoryId = categoryId;
+    }
+
+    public List<Long> getProductIds() {
+        return productIds;
+    }
+
+    public void setProductIds(List<Long> productIds) {
+        this.productIds = productIds;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public String getCategoryId() {
+        return categoryId;
+    }
+
+    public void setCategoryId(String categoryId) {
+        this.categoryId = categoryId;
+    }
+}
@@ -0,0 +1,23 @@
+package br.com.devsuperior.dscatalog.dto;
+
+public class CategoryAssignmentResultDTO {
+
+    private int matched;
+    private int affected;
+
+    public int getMatched() {
+        return matched;
+    }
+
+    public int getAffected() {
+        return affected;
+    }
+
+    public void addMatched(int count) {
+        matched += count;
+    }
+
+    public void addAffected(int count) {
+        affected += count;
+    }
+}
@@ -0,0 +1,32 @@
+package br.com.devsuperior.dscatalog.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class CursorPageDTO<T> {
+
+    private List<T> content = new ArrayList<>();
+    private String next;
+    private boolean hasNext;
+
+    public CursorPageDTO() {
+    }
+
+    public CursorPageDTO(List<T> content, String next) {
+        this.content = content;
+        this.next = next;
+        this.hasNext = next != null;
+    }
+
+    public List<T> getContent() {
+        return content;
+    }
+
+    public String getNext() {
+        return next;
+    }
+
+    public boolean isHasNext() {
+        return hasNext;
+    }
+}
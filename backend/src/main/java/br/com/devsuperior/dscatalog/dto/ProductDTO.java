@@ -2,6 +2,9 @@ package br.com.devsuperior.dscatalog.dto;
 
 import br.com.devsuperior.dscatalog.entities.Category;
 import br.com.devsuperior.dscatalog.entities.Product;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonSetter;
+import com.fasterxml.jackson.annotation.Nulls;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.PastOrPresent;
 import jakarta.validation.constraints.Positive;
@@ -26,7 +29,10 @@ public class ProductDTO implements Serializable {
     private String imgUrl;
     @PastOrPresent(message = "A data do futuro não pode ser futura")
     private Instant date;
+    @JsonIgnore
+    private Instant updateAt;
 
+    @JsonSetter(nulls = Nulls.AS_EMPTY, contentNulls = Nulls.SKIP)
     private List<CategoryDTO> categories = new ArrayList<>();
 
     public ProductDTO() {
@@ -48,6 +54,7 @@ public class ProductDTO implements Serializable {
         price = entity.getPrice();
         imgUrl = entity.getImgUrl();
         date = entity.getDate();
+        updateAt = entity.getUpdateAt();
     }
 
     public ProductDTO(Product entity, Set<Category> categories){
@@ -55,6 +62,12 @@ public class ProductDTO implements Serializable {
         categories.forEach(cat -> this.categories.add(new CategoryDTO(cat)));
     }
 
+    public ProductDTO(ProductDTO other) {
+        this(other.id, other.name, other.description, other.price, other.imgUrl, other.date);
+        updateAt = other.updateAt;
+        other.categories.forEach(cat -> categories.add(new CategoryDTO(cat.getId(), cat.getName())));
+    }
+
     public Long getId() {
         return id;
     }
@@ -103,6 +116,14 @@ public class ProductDTO implements Serializable {
         this.date = date;
     }
 
+    public Instant getUpdateAt() {
+        return updateAt;
+    }
+
+    public void setUpdateAt(Instant updateAt) {
+        this.updateAt = updateAt;
+    }
+
     public List<CategoryDTO> getCategories() {
         return categories;
     }
@@ -0,0 +1,31 @@
+package br.com.devsuperior.dscatalog.dto;
+
+import br.com.devsuperior.dscatalog.resources.exceptions.FieldMessage;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class ProductImportErrorDTO {
+
+    private Integer index;
+    private List<FieldMessage> errors = new ArrayList<>();
+
+    public ProductImportErrorDTO() {
+    }
+
+    public ProductImportErrorDTO(Integer index) {
+        this.index = index;
+    }
+
+    public Integer getIndex() {
+        return index;
+    }
+
+    public List<FieldMessage> getErrors() {
+        return errors;
+    }
+
+    public void addError(String fieldName, String message){
+        errors.add(new FieldMessage(fieldName, message));
+    }
+}
@@ -0,0 +1,35 @@
+package br.com.devsuperior.dscatalog.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class ProductImportResultDTO {
+
+    private int received;
+    private int imported;
+    private List<ProductImportErrorDTO> errors = new ArrayList<>();
+
+    public int getReceived() {
+        return received;
+    }
+
+    public int getImported() {
+        return imported;
+    }
+
+    public List<ProductImportErrorDTO> getErrors() {
+        return errors;
+    }
+
+    public void addReceived() {
+        received++;
+    }
+
+    public void addImported(int count) {
+        imported += count;
+    }
+
+    public void addError(ProductImportErrorDTO error) {
+        errors.add(error);
+    }
+}
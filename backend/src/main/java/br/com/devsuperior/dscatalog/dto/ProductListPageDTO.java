@@ -0,0 +1,22 @@
+package br.com.devsuperior.dscatalog.dto;
+
+import org.springframework.data.domain.Page;
+
+public class ProductListPageDTO {
+
+    private final Page<ProductDTO> page;
+    private final ProductListVersionDTO version;
+
+    public ProductListPageDTO(Page<ProductDTO> page, ProductListVersionDTO version) {
+        this.page = page;
+        this.version = version;
+    }
+
+    public Page<ProductDTO> getPage() {
+        return page;
+    }
+
+    public ProductListVersionDTO getVersion() {
+        return version;
+    }
+}
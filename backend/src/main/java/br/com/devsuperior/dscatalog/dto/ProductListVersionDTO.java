@@ -0,0 +1,22 @@
+package br.com.devsuperior.dscatalog.dto;
+
+import java.time.Instant;
+
+public class ProductListVersionDTO {
+
+    private final long total;
+    private final Instant lastModified;
+
+    public ProductListVersionDTO(long total, Instant lastModified) {
+        this.total = total;
+        this.lastModified = lastModified;
+    }
+
+    public long getTotal() {
+        return total;
+    }
+
+    public Instant getLastModified() {
+        return lastModified;
+    }
+}
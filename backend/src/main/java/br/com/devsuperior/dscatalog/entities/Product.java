@@ -2,6 +2,8 @@ package br.com.devsuperior.dscatalog.entities;
 
 import br.com.devsuperior.dscatalog.projections.IdProjection;
 import jakarta.persistence.*;
+import org.hibernate.annotations.CurrentTimestamp;
+import org.hibernate.annotations.SourceType;
 
 import java.io.Serializable;
 import java.time.Instant;
@@ -10,7 +12,7 @@ import java.util.Objects;
 import java.util.Set;
 
 @Entity
-@Table(name = "tb_product")
+@Table(name = "tb_product", indexes = @Index(name = "idx_product_name", columnList = "name, id"))
 public class Product implements Serializable, IdProjection<Long> {
 
     @Id
@@ -24,10 +26,15 @@ public class Product implements Serializable, IdProjection<Long> {
     @Column(columnDefinition = "TIMESTAMP WITHOUT TIME ZONE")
     private Instant date;
 
+    @CurrentTimestamp(source = SourceType.DB)
+    @Column(columnDefinition = "TIMESTAMP WITHOUT TIME ZONE")
+    private Instant updateAt;
+
     @ManyToMany
     @JoinTable(name = "tb_product_category",
                 joinColumns = @JoinColumn(name = "product_id"),
-                inverseJoinColumns = @JoinColumn(name = "category_id"))
+                inverseJoinColumns = @JoinColumn(name = "category_id"),
+                indexes = @Index(name = "idx_product_category_product", columnList = "product_id, category_id"))
     private Set<Category> categories = new HashSet<>();
     public Product() {
     }
@@ -90,6 +97,14 @@ public class Product implements Serializable, IdProjection<Long> {
         this.date = date;
     }
 
+    public Instant getUpdateAt() {
+        return updateAt;
+    }
+
+    public void setUpdateAt(Instant updateAt) {
+        this.updateAt = updateAt;
+    }
+
     public Set<Category> getCategories() {
         return categories;
     }
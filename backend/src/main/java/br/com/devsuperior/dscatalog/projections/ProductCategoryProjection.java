@@ -0,0 +1,18 @@
+package br.com.devsuperior.dscatalog.projections;
+
+import java.time.Instant;
+
+public interface ProductCategoryProjection extends IdProjection<Long> {
+
+    String getName();
+    String getDescription();
+    Double getPrice();
+    String getImgUrl();
+    Instant getDate();
+    Instant getUpdateAt();
+    Long getTotal();
+    Long getStamped();
+    Instant getLastModified();
+    Long getCategoryId();
+    String getCategoryName();
+}
@@ -0,0 +1,9 @@
+package br.com.devsuperior.dscatalog.projections;
+
+import java.time.Instant;
+
+public interface ProductListVersionProjection {
+    long getTotal();
+    long getStamped();
+    Instant getLastModified();
+}
@@ -0,0 +1,5 @@
+package br.com.devsuperior.dscatalog.projections;
+
+public interface UserProjection extends IdProjection<Long>{
+    String getEmail();
+}
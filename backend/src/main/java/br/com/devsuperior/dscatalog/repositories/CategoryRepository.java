@@ -2,8 +2,14 @@ package br.com.devsuperior.dscatalog.repositories;
 
 import br.com.devsuperior.dscatalog.entities.Category;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+
 @Repository
 public interface CategoryRepository extends JpaRepository<Category, Long> {
+
+    @Query("SELECT obj.id FROM Category obj")
+    List<Long> findAllIds();
 }
@@ -1,14 +1,22 @@
 package br.com.devsuperior.dscatalog.repositories;
 
 import br.com.devsuperior.dscatalog.entities.Product;
+import br.com.devsuperior.dscatalog.projections.ProductCategoryProjection;
+import br.com.devsuperior.dscatalog.projections.ProductListVersionProjection;
 import br.com.devsuperior.dscatalog.projections.ProductProjection;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface ProductRepository extends JpaRepository<Product, Long> {
@@ -32,6 +40,142 @@ public interface ProductRepository extends JpaRepository<Product, Long> {
             """)
     Page<ProductProjection> searchProducts(List<Long> categoryIds, String name, Pageable pageable);
 
-    @Query("SELECT obj FROM Product obj JOIN FETCH obj.categories WHERE obj.id IN :productIds")
+    @Query(nativeQuery = true,value = """
+            SELECT * FROM (
+            SELECT DISTINCT tb_product.id, tb_product.name
+            FROM tb_product
+            INNER JOIN tb_product_category ON tb_product.id = tb_product_category.product_id
+            WHERE (:categoryIds IS NULL OR tb_product_category.category_id in :categoryIds)
+            AND LOWER (tb_product.name) LIKE LOWER(CONCAT('%', :name, '%'))
+            ) AS tb_result
+            """)
+    Slice<ProductProjection> searchProductsSlice(List<Long> categoryIds, String name, Pageable pageable);
+
+    @Query(nativeQuery = true, value = """
+            SELECT tb_page.id, tb_page.name, tb_page.total, tb_page.stamped, tb_page.lastModified, tb_product.description, tb_product.price,
+            tb_product.img_url AS imgUrl, tb_product.date, tb_product.update_at AS updateAt, tb_category.id AS categoryId, tb_category.name AS categoryName
+            FROM (
+            SELECT tb_result.id, tb_result.name, COUNT(*) OVER () AS total,
+            COUNT(tb_result.update_at) OVER () AS stamped, MAX(tb_result.update_at) OVER () AS lastModified
+            FROM (
+            SELECT DISTINCT tb_product.id, tb_product.name, tb_product.update_at
+            FROM tb_product
+            INNER JOIN tb_product_category ON tb_product.id = tb_product_category.product_id
+            WHERE (:categoryIds IS NULL OR tb_product_category.category_id in :categoryIds)
+            AND LOWER (tb_product.name) LIKE LOWER(CONCAT('%', :name, '%'))
+            ) AS tb_result
+            ORDER BY tb_result.name, tb_result.id
+            LIMIT :limit OFFSET :offset
+            ) AS tb_page
+            INNER JOIN tb_product ON tb_product.id = tb_page.id
+            INNER JOIN tb_product_category ON tb_product_category.product_id = tb_page.id
+            INNER JOIN tb_category ON tb_category.id = tb_product_category.category_id
+            ORDER BY tb_page.name, tb_page.id
+            """)
+    List<ProductCategoryProjection> searchProductPageWithCategories(List<Long> categoryIds, String name, int limit, long offset);
+
+    @Query(nativeQuery = true, value = """
+            SELECT COUNT(DISTINCT tb_product.id)
+            FROM tb_product
+            INNER JOIN tb_product_category ON tb_product.id = tb_product_category.product_id
+            WHERE (:categoryIds IS NULL OR tb_product_category.category_id in :categoryIds)
+            AND LOWER (tb_product.name) LIKE LOWER(CONCAT('%', :name, '%'))
+            """)
+    long countProducts(List<Long> categoryIds, String name);
+
+    @Query(nativeQuery = true, value = """
+            SELECT COUNT(*) AS total, COUNT(tb_result.update_at) AS stamped, MAX(tb_result.update_at) AS lastModified
+            FROM (
+            SELECT DISTINCT tb_product.id, tb_product.update_at
+            FROM tb_product
+            INNER JOIN tb_product_category ON tb_product.id = tb_product_category.product_id
+            WHERE (:categoryIds IS NULL OR tb_product_category.category_id in :categoryIds)
+            AND LOWER (tb_product.name) LIKE LOWER(CONCAT('%', :name, '%'))
+            ) AS tb_result
+            """)
+    ProductListVersionProjection findListVersion(List<Long> categoryIds, String name);
+
+    @Query(nativeQuery = true, value = """
+            SELECT DISTINCT tb_product.id, tb_product.name
+            FROM tb_product
+            INNER JOIN tb_product_category ON tb_product.id = tb_product_category.product_id
+            WHERE (:categoryIds IS NULL OR tb_product_category.category_id in :categoryIds)
+            AND LOWER (tb_product.name) LIKE LOWER(CONCAT('%', :name, '%'))
+            AND (tb_product.name > :afterName OR (tb_product.name = :afterName AND tb_product.id > :afterId))
+            ORDER BY tb_product.name, tb_product.id
+            LIMIT :limit
+            """)
+    List<ProductProjection> searchProductsAfter(List<Long> categoryIds, String name, String afterName, Long afterId, int limit);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query(nativeQuery = true, value = """
+            SELECT tb_product.id, tb_product.name, tb_product.description, tb_product.price,
+            tb_product.img_url AS imgUrl, tb_product.date, tb_product.update_at AS updateAt,
+            tb_category.id AS categoryId, tb_category.name AS categoryName
+            FROM tb_product
+            LEFT JOIN tb_product_category ON tb_product_category.product_id = tb_product.id
+            LEFT JOIN tb_category ON tb_category.id = tb_product_category.category_id
+            ORDER BY tb_product.id
+            """)
+    Stream<ProductCategoryProjection> streamAllWithCategories();
+
+    @Query(nativeQuery = true, value = "SELECT product_id FROM tb_product_category WHERE category_id = :categoryId")
+    List<Long> findProductIdsByCategory(Long categoryId);
+
+    @Modifying
+    @Query(nativeQuery = true, value = """
+            UPDATE tb_product SET update_at = LOCALTIMESTAMP
+            WHERE id IN (SELECT product_id FROM tb_product_category WHERE category_id = :categoryId)
+            """)
+    int touchByCategory(Long categoryId);
+
+    @Query(nativeQuery = true, value = """
+            SELECT DISTINCT tb_product.id
+            FROM tb_product
+            INNER JOIN tb_product_category ON tb_product.id = tb_product_category.product_id
+            WHERE (:categoryIds IS NULL OR tb_product_category.category_id in :categoryIds)
+            AND LOWER (tb_product.name) LIKE LOWER(CONCAT('%', :name, '%'))
+            AND tb_product.id > :afterId
+            ORDER BY tb_product.id
+            LIMIT :limit
+            """)
+    List<Long> searchProductIdsAfter(List<Long> categoryIds, String name, Long afterId, int limit);
+
+    @Query(nativeQuery = true, value = "SELECT id FROM tb_product WHERE id IN :productIds ORDER BY id FOR UPDATE")
+    List<Long> lockProductIds(List<Long> productIds);
+
+    @Query(nativeQuery = true, value = """
+            SELECT tb_product.id FROM tb_product
+            WHERE tb_product.id IN :productIds
+            AND NOT EXISTS (SELECT 1 FROM tb_product_category
+            WHERE tb_product_category.product_id = tb_product.id AND tb_product_category.category_id = :categoryId)
+            """)
+    List<Long> findProductIdsWithoutCategory(Long categoryId, List<Long> productIds);
+
+    @Query(nativeQuery = true, value = """
+            SELECT product_id FROM tb_product_category
+            WHERE category_id = :categoryId AND product_id IN :productIds
+            """)
+    List<Long> findProductIdsWithCategory(Long categoryId, List<Long> productIds);
+
+    @Modifying
+    @Query(nativeQuery = true, value = """
+            INSERT INTO tb_product_category (product_id, category_id)
+            SELECT tb_product.id, :categoryId FROM tb_product
+            WHERE tb_product.id IN :productIds
+            AND NOT EXISTS (SELECT 1 FROM tb_product_category
+            WHERE tb_product_category.product_id = tb_product.id AND tb_product_category.category_id = :categoryId)
+            """)
+    int addCategory(Long categoryId, List<Long> productIds);
+
+    @Modifying
+    @Query(nativeQuery = true, value = "DELETE FROM tb_product_category WHERE category_id = :categoryId AND product_id IN :productIds")
+    int removeCategory(Long categoryId, List<Long> productIds);
+
+    @Modifying
+    @Query(nativeQuery = true, value = "UPDATE tb_product SET update_at = LOCALTIMESTAMP WHERE id IN :productIds")
+    int touch(List<Long> productIds);
+
+    @Query("SELECT DISTINCT obj FROM Product obj LEFT JOIN FETCH obj.categories WHERE obj.id IN :productIds")
     List<Product> searchProductsWithCategories(List<Long> productIds);
 }
@@ -0,0 +1,104 @@
+package br.com.devsuperior.dscatalog.repositories;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
+import org.springframework.stereotype.Repository;
+
+import javax.sql.DataSource;
+import java.sql.DatabaseMetaData;
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+@Repository
+public class ProductSearchRepository {
+
+    private static final int MAX_TOKENS = 8;
+
+    private static final String ACCENTS = "áàâãäéèêëíìîïóòôõöúùûüçñ";
+    private static final String PLAIN = "aaaaaeeeeiiiiooooouuuucn";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final boolean postgres;
+
+    public ProductSearchRepository(NamedParameterJdbcTemplate jdbcTemplate, DataSource dataSource) throws MetaDataAccessException {
+        this.jdbcTemplate = jdbcTemplate;
+        this.postgres = "PostgreSQL".equals(JdbcUtils.extractDatabaseMetaData(dataSource, DatabaseMetaData::getDatabaseProductName));
+    }
+
+    public Page<Long> search(String query, List<Long> categoryIds, Pageable pageable) {
+        List<String> tokens = tokenize(query);
+        if (tokens.isEmpty()) {
+            return Page.empty(pageable);
+        }
+
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("categoryIds", categoryIds)
+                .addValue("limit", pageable.getPageSize())
+                .addValue("offset", pageable.getOffset());
+        String match = postgres ? postgresMatch(tokens, params) : h2Match(tokens, params);
+        String rank = postgres ? "ts_rank(tb_product.search_vector, to_tsquery('simple', :query))" : h2Rank(tokens);
+        String from = "FROM tb_product WHERE " + match + categoryFilter(categoryIds);
+
+        List<Long[]> rows = jdbcTemplate.query("SELECT tb_product.id, COUNT(*) OVER () AS total " + from
+                        + " ORDER BY " + rank + " DESC, tb_product.name, tb_product.id LIMIT :limit OFFSET :offset",
+                params, (rs, rowNum) -> new Long[] {rs.getLong("id"), rs.getLong("total")});
+
+        List<Long> ids = rows.stream().map(x -> x[0]).toList();
+        return PageableExecutionUtils.getPage(ids, pageable,
+                () -> rows.isEmpty() ? jdbcTemplate.queryForObject("SELECT COUNT(*) " + from, params, Long.class) : rows.get(0)[1]);
+    }
+
+    static List<String> tokenize(String text) {
+        if (text == null) {
+            return List.of();
+        }
+        String normalized = Normalizer.normalize(text, Normalizer.Form.NFD)
+                .replaceAll("\\p{M}", "")
+                .toLowerCase(Locale.ROOT);
+        return Arrays.stream(normalized.split("[^\\p{Alnum}]+")).filter(x -> !x.isEmpty()).distinct().limit(MAX_TOKENS).toList();
+    }
+
+    private String postgresMatch(List<String> tokens, MapSqlParameterSource params) {
+        params.addValue("query", String.join(" & ", tokens.stream().map(x -> x + ":*").toList()));
+        return "tb_product.search_vector @@ to_tsquery('simple', :query)";
+    }
+
+    private String h2Match(List<String> tokens, MapSqlParameterSource params) {
+        List<String> conditions = new ArrayList<>();
+        for (int i = 0; i < tokens.size(); i++) {
+            params.addValue("prefix" + i, "(^|[^a-z0-9])" + tokens.get(i));
+            params.addValue("word" + i, "(^|[^a-z0-9])" + tokens.get(i) + "([^a-z0-9]|$)");
+            conditions.add("(REGEXP_LIKE(" + h2Fold("name") + ", :prefix" + i + ") OR REGEXP_LIKE(" + h2Fold("description") + ", :prefix" + i + "))");
+        }
+        return String.join(" AND ", conditions);
+    }
+
+    private String h2Rank(List<String> tokens) {
+        List<String> scores = new ArrayList<>();
+        for (int i = 0; i < tokens.size(); i++) {
+            scores.add("CASE WHEN REGEXP_LIKE(" + h2Fold("name") + ", :word" + i + ") THEN 6 WHEN REGEXP_LIKE(" + h2Fold("name") + ", :prefix" + i + ") THEN 3 ELSE 0 END");
+            scores.add("CASE WHEN REGEXP_LIKE(" + h2Fold("description") + ", :word" + i + ") THEN 2 WHEN REGEXP_LIKE(" + h2Fold("description") + ", :prefix" + i + ") THEN 1 ELSE 0 END");
+        }
+        return "(" + String.join(" + ", scores) + ")";
+    }
+
+    private String h2Fold(String column) {
+        return "TRANSLATE(LOWER(COALESCE(tb_product." + column + ", '')), '" + ACCENTS + "', '" + PLAIN + "')";
+    }
+
+    private String categoryFilter(List<Long> categoryIds) {
+        if (categoryIds.isEmpty()) {
+            return "";
+        }
+        return " AND EXISTS (SELECT 1 FROM tb_product_category WHERE tb_product_category.product_id = tb_product.id"
+                + " AND tb_product_category.category_id IN (:categoryIds))";
+    }
+}
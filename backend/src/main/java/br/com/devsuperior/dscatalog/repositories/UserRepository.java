@@ -2,23 +2,42 @@ package br.com.devsuperior.dscatalog.repositories;
 
 import br.com.devsuperior.dscatalog.entities.User;
 import br.com.devsuperior.dscatalog.projections.UserDetailsProjection;
+import br.com.devsuperior.dscatalog.projections.UserProjection;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
 
     User findByEmail(String email);
 
+	@EntityGraph(attributePaths = "roles")
+	Optional<User> findWithRolesById(Long id);
+
+	@Query(value = "SELECT obj.id AS id, obj.email AS email FROM User obj", countQuery = "SELECT COUNT(obj) FROM User obj")
+	Page<UserProjection> searchUsers(Pageable pageable);
+
+	@Query("SELECT obj FROM User obj LEFT JOIN FETCH obj.roles WHERE obj.id IN :userIds")
+	List<User> searchUsersWithRoles(List<Long> userIds);
+
 	@Query(nativeQuery = true, value = """
 			SELECT tb_user.email AS username, tb_user.password, tb_role.id AS roleId, tb_role.authority
 			FROM tb_user
 			INNER JOIN tb_user_role ON tb_user.id = tb_user_role.user_id
 			INNER JOIN tb_role ON tb_role.id = tb_user_role.role_id
-			WHERE tb_user.email = :email
+			WHERE LOWER(tb_user.email) = LOWER(:email)
 		""")
 	List<UserDetailsProjection> searchUserAndRolesByEmail(String email);
+
+	@Modifying
+	@Query("UPDATE User obj SET obj.password = :password WHERE LOWER(obj.email) = LOWER(:email)")
+	int updatePassword(String email, String password);
 }
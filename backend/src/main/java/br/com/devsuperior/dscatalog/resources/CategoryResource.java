@@ -1,15 +1,22 @@
 package br.com.devsuperior.dscatalog.resources;
 
+import br.com.devsuperior.dscatalog.config.metrics.QueryBudget;
+import br.com.devsuperior.dscatalog.dto.CategoryAssignmentDTO;
+import br.com.devsuperior.dscatalog.dto.CategoryAssignmentResultDTO;
 import br.com.devsuperior.dscatalog.dto.CategoryDTO;
+import br.com.devsuperior.dscatalog.services.CategoryAssignmentService;
+import br.com.devsuperior.dscatalog.services.CategoryListSnapshot;
 import br.com.devsuperior.dscatalog.services.CategoryService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import java.net.URI;
@@ -22,12 +29,20 @@ public class CategoryResource {
     @Autowired
     private CategoryService service;
 
+    @Autowired
+    private CategoryAssignmentService assignmentService;
+
+    @QueryBudget(2)
     @GetMapping
-    public ResponseEntity<List<CategoryDTO>> findAll(){
-        List<CategoryDTO> list = service.findAll();
-        return ResponseEntity.ok().body(list);
+    public ResponseEntity<List<CategoryDTO>> findAll(WebRequest request){
+        CategoryListSnapshot snapshot = service.findAllSnapshot();
+        if (request.checkNotModified(snapshot.getEtag())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(snapshot.getEtag()).build();
+        }
+        return ResponseEntity.ok().eTag(snapshot.getEtag()).body(snapshot.getCategories());
     }
 
+    @QueryBudget(2)
     @GetMapping(value = "/{id}")
     public ResponseEntity<CategoryDTO> findById(@PathVariable Long id){
         CategoryDTO dto = service.findById(id);
@@ -35,6 +50,7 @@ public class CategoryResource {
     }
 
     @PreAuthorize("hasAnyRole('ROLE_ADMIN', 'ROLE_OPERATOR')")
+    @QueryBudget(3)
     @PostMapping
     public ResponseEntity<CategoryDTO> insert(@RequestBody CategoryDTO dto){
         dto = service.insert(dto);
@@ -45,6 +61,7 @@ public class CategoryResource {
     }
 
     @PreAuthorize("hasAnyRole('ROLE_ADMIN', 'ROLE_OPERATOR')")
+    @QueryBudget(3)
     @PutMapping(value = "/{id}")
     public ResponseEntity<CategoryDTO> update(@PathVariable Long id, @RequestBody CategoryDTO dto){
         dto = service.update(id, dto);
@@ -52,9 +69,24 @@ public class CategoryResource {
     }
 
     @PreAuthorize("hasAnyRole('ROLE_ADMIN', 'ROLE_OPERATOR')")
+    @QueryBudget(5)
     @DeleteMapping(value = "/{id}")
     public ResponseEntity<Void> delete(@PathVariable Long id){
         service.delete(id);
         return ResponseEntity.noContent().build();
     }
+
+    @PreAuthorize("hasAnyRole('ROLE_ADMIN', 'ROLE_OPERATOR')")
+    @PostMapping(value = "/{id}/products")
+    public ResponseEntity<CategoryAssignmentResultDTO> addProducts(@PathVariable Long id, @RequestBody CategoryAssignmentDTO dto){
+        CategoryAssignmentResultDTO result = assignmentService.add(id, dto);
+        return ResponseEntity.ok().body(result);
+    }
+
+    @PreAuthorize("hasAnyRole('ROLE_ADMIN', 'ROLE_OPERATOR')")
+    @DeleteMapping(value = "/{id}/products")
+    public ResponseEntity<CategoryAssignmentResultDTO> removeProducts(@PathVariable Long id, @RequestBody CategoryAssignmentDTO dto){
+        CategoryAssignmentResultDTO result = assignmentService.remove(id, dto);
+        return ResponseEntity.ok().body(result);
+    }
 }
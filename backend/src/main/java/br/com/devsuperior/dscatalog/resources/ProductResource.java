@@ -1,42 +1,151 @@
 package br.com.devsuperior.dscatalog.resources;
 
+import br.com.devsuperior.dscatalog.config.metrics.QueryBudget;
+import br.com.devsuperior.dscatalog.dto.CursorPageDTO;
 import br.com.devsuperior.dscatalog.dto.ProductDTO;
+import br.com.devsuperior.dscatalog.dto.ProductImportResultDTO;
+import br.com.devsuperior.dscatalog.dto.ProductListPageDTO;
+import br.com.devsuperior.dscatalog.dto.ProductListVersionDTO;
 import br.com.devsuperior.dscatalog.projections.ProductProjection;
+import br.com.devsuperior.dscatalog.services.ProductExportService;
+import br.com.devsuperior.dscatalog.services.ProductImportService;
 import br.com.devsuperior.dscatalog.services.ProductService;
+import br.com.devsuperior.dscatalog.services.exceptions.InvalidCursorException;
+import br.com.devsuperior.dscatalog.services.exceptions.UnsupportedFormatException;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import java.io.IOException;
 import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HexFormat;
 
 @RestController
 @RequestMapping(value = "/products")
 public class ProductResource {
 
+    private static final int MAX_CURSOR_PAGE_SIZE = 100;
+
     @Autowired
     private ProductService service;
 
+    @Autowired
+    private ProductImportService importService;
+
+    @Autowired
+    private ProductExportService exportService;
+
+    @Value("${http.cache.products.max-age}")
+    private Long productMaxAge;
+
+    @Value("${http.cache.product-pages.max-age}")
+    private Long productPageMaxAge;
+
+    @QueryBudget(3)
     @GetMapping
     public ResponseEntity<Page<ProductDTO>> findAll(
+            @RequestParam (value = "name", defaultValue = "") String name,
+            @RequestParam(value = "categoryId", defaultValue = "0") String categoryId,
+            Pageable pageable, WebRequest request){
+        ProductListPageDTO result = service.findListPage(name, categoryId, pageable);
+        ProductListVersionDTO version = result.getVersion();
+        Instant lastModified = version.getLastModified();
+        String etag = lastModified == null ? null : pageEtag(name, categoryId, pageable, version);
+        if (etag != null && request.checkNotModified(etag, lastModified.toEpochMilli())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok().cacheControl(cacheControl(productPageMaxAge));
+        if (etag != null) {
+            response.eTag(etag).lastModified(lastModified);
+        }
+        return response.body(result.getPage());
+    }
+
+    @QueryBudget(3)
+    @GetMapping(params = "q")
+    public ResponseEntity<Page<ProductDTO>> search(
+            @RequestParam(value = "q") String query,
+            @RequestParam(value = "categoryId", defaultValue = "0") String categoryId,
+            Pageable pageable){
+        Page<ProductDTO> list = service.searchText(query, categoryId, pageable);
+        return ResponseEntity.ok().body(list);
+    }
+
+    @QueryBudget(3)
+    @GetMapping(params = {"count=false", "!q", "!after"})
+    public ResponseEntity<Slice<ProductDTO>> findAllWithoutCount(
             @RequestParam (value = "name", defaultValue = "") String name,
             @RequestParam(value = "categoryId", defaultValue = "0") String categoryId,
             Pageable pageable){
-        Page<ProductDTO> list = service.findAllPaged(name, categoryId, pageable);
+        Slice<ProductDTO> list = service.findAllSliced(name, categoryId, pageable);
         return ResponseEntity.ok().body(list);
     }
 
+    @QueryBudget(3)
+    @GetMapping(params = {"after", "!q"})
+    public ResponseEntity<CursorPageDTO<ProductDTO>> findAllByCursor(
+            @RequestParam(value = "name", defaultValue = "") String name,
+            @RequestParam(value = "categoryId", defaultValue = "0") String categoryId,
+            @RequestParam(value = "after") String after,
+            @RequestParam(value = "size", defaultValue = "12") Integer size){
+        if (size < 1 || size > MAX_CURSOR_PAGE_SIZE) {
+            throw new InvalidCursorException("Tamanho da página deve estar entre 1 e " + MAX_CURSOR_PAGE_SIZE);
+        }
+        CursorPageDTO<ProductDTO> page = service.findAllByCursor(name, categoryId, after, size);
+        return ResponseEntity.ok().body(page);
+    }
+
+    @PreAuthorize("hasAnyRole('ROLE_ADMIN', 'ROLE_OPERATOR')")
+    @GetMapping(value = "/export")
+    public ResponseEntity<StreamingResponseBody> export(
+            @RequestParam(value = "format", defaultValue = ProductExportService.NDJSON) String format){
+        MediaType contentType = switch (format) {
+            case ProductExportService.CSV -> new MediaType("text", "csv", StandardCharsets.UTF_8);
+            case ProductExportService.NDJSON -> MediaType.APPLICATION_NDJSON;
+            default -> throw new UnsupportedFormatException("Formato de exportação não suportado: " + format);
+        };
+        StreamingResponseBody body = output -> exportService.export(format, output);
+        return ResponseEntity.ok().contentType(contentType).body(body);
+    }
+
+    @QueryBudget(3)
     @GetMapping(value = "/{id}")
-    public ResponseEntity<ProductDTO> findById(@PathVariable Long id){
+    public ResponseEntity<ProductDTO> findById(@PathVariable Long id, WebRequest request){
         ProductDTO dto = service.findById(id);
-        return ResponseEntity.ok().body(dto);
+        if (dto.getUpdateAt() == null) {
+            return ResponseEntity.ok().body(dto);
+        }
+        String etag = "\"" + dto.getId() + "-" + dto.getUpdateAt().toEpochMilli() + "\"";
+        if (request.checkNotModified(etag, dto.getUpdateAt().toEpochMilli())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+        return ResponseEntity.ok()
+                .cacheControl(cacheControl(productMaxAge))
+                .eTag(etag)
+                .lastModified(dto.getUpdateAt())
+                .body(dto);
     }
 
     @PreAuthorize("hasAnyRole('ROLE_ADMIN')")
+    @QueryBudget(8)
     @PostMapping
     public ResponseEntity<ProductDTO> insert(@Valid @RequestBody ProductDTO dto){
         dto = service.insert(dto);
@@ -46,7 +155,15 @@ public class ProductResource {
         return ResponseEntity.created(uri).body(dto);
     }
 
+    @PreAuthorize("hasAnyRole('ROLE_ADMIN')")
+    @PostMapping(value = "/import", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public ResponseEntity<ProductImportResultDTO> importProducts(HttpServletRequest request) throws IOException {
+        ProductImportResultDTO result = importService.importProducts(request.getInputStream());
+        return ResponseEntity.ok().body(result);
+    }
+
     @PreAuthorize("hasAnyRole('ROLE_ADMIN', 'ROLE_OPERATOR')")
+    @QueryBudget(8)
     @PutMapping(value = "/{id}")
     public ResponseEntity<ProductDTO> update(@PathVariable Long id, @Valid @RequestBody ProductDTO dto){
         dto = service.update(id, dto);
@@ -54,9 +171,31 @@ public class ProductResource {
     }
 
     @PreAuthorize("hasAnyRole('ROLE_ADMIN', 'ROLE_OPERATOR')")
+    @QueryBudget(8)
     @DeleteMapping(value = "/{id}")
     public ResponseEntity<Void> delete(@PathVariable Long id){
         service.delete(id);
         return ResponseEntity.noContent().build();
     }
+
+    private CacheControl cacheControl(Long maxAgeSeconds) {
+        if (maxAgeSeconds <= 0) {
+            return CacheControl.noCache();
+        }
+        return CacheControl.maxAge(Duration.ofSeconds(maxAgeSeconds)).cachePublic();
+    }
+
+    private String pageEtag(String name, String categoryId, Pageable pageable, ProductListVersionDTO version) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            String key = version.getTotal() + ":" + version.getLastModified() + ":" + name + ":" + categoryId + ":"
+                    + (pageable.isPaged() ? pageable.getPageNumber() + ":" + pageable.getPageSize() : "unpaged") + ":"
+                    + pageable.getSort();
+            digest.update(key.getBytes(StandardCharsets.UTF_8));
+            return "\"" + HexFormat.of().formatHex(digest.digest(), 0, 16) + "\"";
+        }
+        catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
 }
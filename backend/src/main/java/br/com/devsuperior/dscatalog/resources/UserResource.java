@@ -1,5 +1,6 @@
 package br.com.devsuperior.dscatalog.resources;
 
+import br.com.devsuperior.dscatalog.config.metrics.QueryBudget;
 import br.com.devsuperior.dscatalog.dto.UserDTO;
 import br.com.devsuperior.dscatalog.dto.UserInsertDTO;
 import br.com.devsuperior.dscatalog.dto.UserUpdateDTO;
@@ -23,6 +24,7 @@ public class UserResource {
     private UserService service;
 
     @PreAuthorize("hasAnyRole('ROLE_ADMIN')")
+    @QueryBudget(3)
     @GetMapping
     public ResponseEntity<Page<UserDTO>> findAll(Pageable pageable){
         Page<UserDTO> list = service.findAllPaged(pageable);
@@ -30,6 +32,7 @@ public class UserResource {
     }
 
     @PreAuthorize("hasAnyRole('ROLE_ADMIN')")
+    @QueryBudget(3)
     @GetMapping(value = "/{id}")
     public ResponseEntity<UserDTO> findById(@PathVariable Long id){
         UserDTO dto = service.findById(id);
@@ -37,6 +40,7 @@ public class UserResource {
     }
 
     @PreAuthorize("hasAnyRole('ROLE_ADMIN')")
+    @QueryBudget(5)
     @PostMapping
     public ResponseEntity<UserDTO> insert(@Valid @RequestBody UserInsertDTO dto){
         UserDTO newDto = service.insert(dto);
@@ -47,6 +51,7 @@ public class UserResource {
     }
 
     @PreAuthorize("hasAnyRole('ROLE_ADMIN')")
+    @QueryBudget(6)
     @PutMapping(value = "/{id}")
     public ResponseEntity<UserDTO> update(@PathVariable Long id, @Valid @RequestBody UserUpdateDTO dto){
         UserDTO newDto = service.update(id, dto);
@@ -54,6 +59,7 @@ public class UserResource {
     }
 
     @PreAuthorize("hasAnyRole('ROLE_ADMIN')")
+    @QueryBudget(5)
     @DeleteMapping(value = "/{id}")
     public ResponseEntity<Void> delete(@PathVariable Long id){
         service.delete(id);
@@ -1,7 +1,11 @@
 package br.com.devsuperior.dscatalog.resources.exceptions;
 
+import br.com.devsuperior.dscatalog.services.exceptions.CategoryNotFoundException;
 import br.com.devsuperior.dscatalog.services.exceptions.DataBaseException;
+import br.com.devsuperior.dscatalog.services.exceptions.InvalidAssignmentException;
+import br.com.devsuperior.dscatalog.services.exceptions.InvalidCursorException;
 import br.com.devsuperior.dscatalog.services.exceptions.ResourceNotFoundException;
+import br.com.devsuperior.dscatalog.services.exceptions.UnsupportedFormatException;
 import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -39,6 +43,58 @@ public class ResourceExceptionHandler {
         return ResponseEntity.status(status).body(err);
     }
 
+    @ExceptionHandler(InvalidCursorException.class)
+    public ResponseEntity<StandardError> invalidCursor(InvalidCursorException e, HttpServletRequest request){
+        HttpStatus status = HttpStatus.BAD_REQUEST;
+        StandardError err = new StandardError();
+        err.setTimestamp(Instant.now());
+        err.setStatus(status.value());
+        err.setError("Invalid cursor");
+        err.setMessage(e.getMessage());
+        err.setPath(request.getRequestURI());
+        return ResponseEntity.status(status).body(err);
+    }
+
+    @ExceptionHandler(UnsupportedFormatException.class)
+    public ResponseEntity<StandardError> unsupportedFormat(UnsupportedFormatException e, HttpServletRequest request){
+        HttpStatus status = HttpStatus.BAD_REQUEST;
+        StandardError err = new StandardError();
+        err.setTimestamp(Instant.now());
+        err.setStatus(status.value());
+        err.setError("Unsupported format");
+        err.setMessage(e.getMessage());
+        err.setPath(request.getRequestURI());
+        return ResponseEntity.status(status).body(err);
+    }
+
+    @ExceptionHandler(CategoryNotFoundException.class)
+    public ResponseEntity<ValidationError> categoryNotFound(CategoryNotFoundException e, HttpServletRequest request){
+        HttpStatus status = HttpStatus.UNPROCESSABLE_ENTITY;
+        ValidationError err = new ValidationError();
+        err.setTimestamp(Instant.now());
+        err.setStatus(status.value());
+        err.setError("Validation exception");
+        err.setMessage(e.getMessage());
+        err.setPath(request.getRequestURI());
+        for (Long id : e.getIds()){
+            err.addError("categories", "Categoria não encontrada: " + id);
+        }
+        return ResponseEntity.status(status).body(err);
+    }
+
+    @ExceptionHandler(InvalidAssignmentException.class)
+    public ResponseEntity<ValidationError> invalidAssignment(InvalidAssignmentException e, HttpServletRequest request){
+        HttpStatus status = HttpStatus.UNPROCESSABLE_ENTITY;
+        ValidationError err = new ValidationError();
+        err.setTimestamp(Instant.now());
+        err.setStatus(status.value());
+        err.setError("Validation exception");
+        err.setMessage(e.getMessage());
+        err.setPath(request.getRequestURI());
+        err.addError("productIds", e.getMessage());
+        return ResponseEntity.status(status).body(err);
+    }
+
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<ValidationError> validation(MethodArgumentNotValidException e, HttpServletRequest request){
         HttpStatus status = HttpStatus.UNPROCESSABLE_ENTITY;
@@ -0,0 +1,96 @@
+package br.com.devsuperior.dscatalog.services;
+
+import br.com.devsuperior.dscatalog.dto.CategoryAssignmentDTO;
+import br.com.devsuperior.dscatalog.dto.CategoryAssignmentResultDTO;
+import br.com.devsuperior.dscatalog.repositories.CategoryRepository;
+import br.com.devsuperior.dscatalog.repositories.ProductRepository;
+import br.com.devsuperior.dscatalog.services.events.ProductChangedEvent;
+import br.com.devsuperior.dscatalog.services.exceptions.InvalidAssignmentException;
+import br.com.devsuperior.dscatalog.services.exceptions.ResourceNotFoundException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+@Service
+public class CategoryAssignmentService {
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Value("${catalog.category-assignment.chunk-size}")
+    private Integer chunkSize;
+
+    public CategoryAssignmentResultDTO add(Long categoryId, CategoryAssignmentDTO dto) {
+        return apply(categoryId, dto, true);
+    }
+
+    public CategoryAssignmentResultDTO remove(Long categoryId, CategoryAssignmentDTO dto) {
+        return apply(categoryId, dto, false);
+    }
+
+    private CategoryAssignmentResultDTO apply(Long categoryId, CategoryAssignmentDTO dto, boolean add) {
+        if (!categoryRepository.existsById(categoryId)) {
+            throw new ResourceNotFoundException("Recurso não encontrado");
+        }
+        if (dto.getProductIds() == null && (dto.getName() == null || dto.getName().isBlank()) && dto.getCategoryId() == null) {
+            throw new InvalidAssignmentException("Informe os produtos ou um filtro");
+        }
+        CategoryAssignmentResultDTO result = new CategoryAssignmentResultDTO();
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+
+        if (dto.getProductIds() != null) {
+            List<Long> productIds = dto.getProductIds().stream().distinct().sorted().toList();
+            for (int i = 0; i < productIds.size(); i += chunkSize) {
+                List<Long> chunk = productIds.subList(i, Math.min(i + chunkSize, productIds.size()));
+                transactionTemplate.executeWithoutResult(status -> applyChunk(categoryId, chunk, add, result));
+            }
+            return result;
+        }
+
+        String name = dto.getName() == null ? "" : dto.getName();
+        List<Long> categoryIds = Utils.parseCategoryIds(dto.getCategoryId() == null ? "0" : dto.getCategoryId());
+        Long afterId = 0L;
+        while (true) {
+            List<Long> chunk = productRepository.searchProductIdsAfter(categoryIds, name, afterId, chunkSize);
+            if (chunk.isEmpty()) {
+                return result;
+            }
+            transactionTemplate.executeWithoutResult(status -> applyChunk(categoryId, chunk, add, result));
+            afterId = chunk.get(chunk.size() - 1);
+        }
+    }
+
+    private void applyChunk(Long categoryId, List<Long> productIds, boolean add, CategoryAssignmentResultDTO result) {
+        List<Long> existing = productRepository.lockProductIds(productIds);
+        result.addMatched(existing.size());
+        if (existing.isEmpty()) {
+            return;
+        }
+        List<Long> affected = add
+                ? productRepository.findProductIdsWithoutCategory(categoryId, existing)
+                : productRepository.findProductIdsWithCategory(categoryId, existing);
+        if (affected.isEmpty()) {
+            return;
+        }
+        int count = add
+                ? productRepository.addCategory(categoryId, affected)
+                : productRepository.removeCategory(categoryId, affected);
+        productRepository.touch(affected);
+        eventPublisher.publishEvent(new ProductChangedEvent(affected));
+        result.addAffected(count);
+    }
+}
@@ -0,0 +1,41 @@
+package br.com.devsuperior.dscatalog.services;
+
+import br.com.devsuperior.dscatalog.dto.CategoryDTO;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+
+public class CategoryListSnapshot {
+
+    private final List<CategoryDTO> categories;
+    private final String etag;
+
+    public CategoryListSnapshot(List<CategoryDTO> categories) {
+        this.categories = List.copyOf(categories);
+        this.etag = computeEtag(this.categories);
+    }
+
+    public List<CategoryDTO> getCategories() {
+        return categories;
+    }
+
+    public String getEtag() {
+        return etag;
+    }
+
+    private static String computeEtag(List<CategoryDTO> categories) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            for (CategoryDTO category : categories) {
+                digest.update((category.getId() + ":" + category.getName() + "\n").getBytes(StandardCharsets.UTF_8));
+            }
+            return "\"" + HexFormat.of().formatHex(digest.digest(), 0, 16) + "\"";
+        }
+        catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
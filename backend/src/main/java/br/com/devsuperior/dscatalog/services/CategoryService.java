@@ -1,12 +1,17 @@
 package br.com.devsuperior.dscatalog.services;
 
+import br.com.devsuperior.dscatalog.config.metrics.QueryBudget;
+import br.com.devsuperior.dscatalog.config.routing.ReplicaStaleness;
 import br.com.devsuperior.dscatalog.dto.CategoryDTO;
 import br.com.devsuperior.dscatalog.entities.Category;
 import br.com.devsuperior.dscatalog.repositories.CategoryRepository;
+import br.com.devsuperior.dscatalog.repositories.ProductRepository;
+import br.com.devsuperior.dscatalog.services.events.CategoryChangedEvent;
 import br.com.devsuperior.dscatalog.services.exceptions.DataBaseException;
 import br.com.devsuperior.dscatalog.services.exceptions.ResourceNotFoundException;
 import jakarta.persistence.EntityNotFoundException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
@@ -14,6 +19,8 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.util.List;
 import java.util.Optional;
@@ -24,11 +31,56 @@ public class CategoryService {
     @Autowired
     private CategoryRepository repository;
 
-    @Transactional(readOnly = true)
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private ReplicaStaleness replicaStaleness;
+
+    private volatile CategoryListSnapshot snapshot;
+    private long generation;
+    private Long changedAt;
+
+    @QueryBudget(1)
     public List<CategoryDTO> findAll(){
+        return findAllSnapshot().getCategories();
+    }
+
+    public CategoryListSnapshot findAllSnapshot(){
+        CategoryListSnapshot current = snapshot;
+        if (current != null) {
+            return current;
+        }
+        long startGeneration = currentGeneration();
+        long readStart = System.nanoTime();
         List<Category> list = repository.findAll();
-        return list.stream().map(x -> new CategoryDTO(x)).toList();
+        current = new CategoryListSnapshot(list.stream().map(x -> new CategoryDTO(x)).toList());
+        if (!TransactionSynchronizationManager.isActualTransactionActive()
+                || TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            publish(current, startGeneration, readStart);
+        }
+        return current;
+    }
 
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onCategoryChanged(CategoryChangedEvent event) {
+        generation++;
+        changedAt = System.nanoTime();
+        snapshot = null;
+    }
+
+    private synchronized long currentGeneration() {
+        return generation;
+    }
+
+    private synchronized void publish(CategoryListSnapshot current, long startGeneration, long readStart) {
+        boolean settled = changedAt == null || readStart - changedAt >= replicaStaleness.getBound().toNanos();
+        if (generation == startGeneration && settled) {
+            snapshot = current;
+        }
     }
 
     @Transactional(readOnly = true)
@@ -43,6 +95,7 @@ public class CategoryService {
         Category entity = new Category();
         entity.setName(dto.getName());
         entity = repository.save(entity);
+        eventPublisher.publishEvent(new CategoryChangedEvent(entity.getId()));
 
         return new CategoryDTO(entity);
     }
@@ -53,6 +106,8 @@ public class CategoryService {
             Category entity = repository.getReferenceById(id);
             entity.setName(dto.getName());
             entity = repository.save(entity);
+            productRepository.touchByCategory(id);
+            eventPublisher.publishEvent(new CategoryChangedEvent(entity.getId()));
             return new CategoryDTO(entity);
         }
         catch (EntityNotFoundException e){
@@ -67,6 +122,7 @@ public class CategoryService {
         }
         try {
             repository.deleteById(id);
+            eventPublisher.publishEvent(new CategoryChangedEvent(id));
         }
         catch (DataIntegrityViolationException e){
             throw new DataBaseException("Falha de integridade referencial");
@@ -0,0 +1,65 @@
+package br.com.devsuperior.dscatalog.services;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
+
+@Service
+@ConditionalOnProperty(name = "security.authorization.store", havingValue = "jdbc")
+public class OAuth2AuthorizationPurgeService {
+
+    private static final Logger logger = LoggerFactory.getLogger(OAuth2AuthorizationPurgeService.class);
+
+    private static final String EXPIRED_IDS = """
+            SELECT id FROM oauth2_authorization
+            WHERE (access_token_expires_at IS NULL OR access_token_expires_at < ?)
+            AND (refresh_token_expires_at IS NULL OR refresh_token_expires_at < ?)
+            AND (authorization_code_expires_at IS NULL OR authorization_code_expires_at < ?)
+            LIMIT ?
+            """;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${security.authorization.purge.batch-size}")
+    private Integer batchSize;
+
+    @Scheduled(fixedDelayString = "${security.authorization.purge.interval}",
+            initialDelayString = "${security.authorization.purge.interval}")
+    public void purgeScheduled() {
+        int purged = purgeExpired(Instant.now());
+        if (purged > 0) {
+            logger.info("Removed {} expired OAuth2 authorizations", purged);
+        }
+    }
+
+    public int purgeExpired(Instant now) {
+        Timestamp cutoff = Timestamp.from(now);
+        int total = 0;
+        List<String> ids;
+        do {
+            ids = jdbcTemplate.queryForList(EXPIRED_IDS, String.class, cutoff, cutoff, cutoff, batchSize);
+            if (!ids.isEmpty()) {
+                jdbcTemplate.batchUpdate("DELETE FROM oauth2_authorization WHERE id = ?",
+                        ids.stream().map(id -> new Object[]{id}).toList());
+                total += ids.size();
+            }
+        } while (ids.size() == batchSize);
+
+        meterRegistry.counter("dscatalog.oauth2.authorization.purged").increment(total);
+        return total;
+    }
+}
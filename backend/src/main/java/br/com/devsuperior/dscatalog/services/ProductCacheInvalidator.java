@@ -0,0 +1,38 @@
+package br.com.devsuperior.dscatalog.services;
+
+import br.com.devsuperior.dscatalog.config.CacheConfig;
+import br.com.devsuperior.dscatalog.repositories.ProductRepository;
+import br.com.devsuperior.dscatalog.services.events.CategoryChangedEvent;
+import br.com.devsuperior.dscatalog.services.events.ProductChangedEvent;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+
+@Component
+public class ProductCacheInvalidator {
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private ProductRepository repository;
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        evict(event.getProductIds());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCategoryChanged(CategoryChangedEvent event) {
+        evict(repository.findProductIdsByCategory(event.getCategoryId()));
+    }
+
+    private void evict(List<Long> productIds) {
+        Cache cache = cacheManager.getCache(CacheConfig.PRODUCTS);
+        productIds.forEach(cache::evict);
+    }
+}
@@ -0,0 +1,46 @@
+package br.com.devsuperior.dscatalog.services;
+
+import br.com.devsuperior.dscatalog.services.exceptions.InvalidCursorException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+public class ProductCursor {
+
+    public static final ProductCursor FIRST = new ProductCursor("", 0L);
+
+    private final String name;
+    private final Long id;
+
+    public ProductCursor(String name, Long id) {
+        this.name = name;
+        this.id = id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String encode() {
+        String raw = id + ":" + name;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static ProductCursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return FIRST;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(':');
+            return new ProductCursor(raw.substring(separator + 1), Long.parseLong(raw.substring(0, separator)));
+        }
+        catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+            throw new InvalidCursorException("Cursor inválido");
+        }
+    }
+}
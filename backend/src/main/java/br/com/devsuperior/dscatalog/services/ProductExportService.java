@@ -0,0 +1,103 @@
+package br.com.devsuperior.dscatalog.services;
+
+import br.com.devsuperior.dscatalog.dto.CategoryDTO;
+import br.com.devsuperior.dscatalog.dto.ProductDTO;
+import br.com.devsuperior.dscatalog.projections.ProductCategoryProjection;
+import br.com.devsuperior.dscatalog.repositories.ProductRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+@Service
+public class ProductExportService {
+
+    public static final String CSV = "csv";
+    public static final String NDJSON = "ndjson";
+
+    private static final int FLUSH_INTERVAL = 100;
+
+    @Autowired
+    private ProductRepository repository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    public void export(String format, OutputStream output) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8));
+        if (CSV.equals(format)) {
+            writer.write("id,name,description,price,imgUrl,date,categoryIds\n");
+        }
+        writer.flush();
+
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setReadOnly(true);
+        transactionTemplate.executeWithoutResult(status -> {
+            try (Stream<ProductCategoryProjection> rows = repository.streamAllWithCategories()) {
+                writeProducts(format, rows.iterator(), writer);
+            }
+            catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        writer.flush();
+    }
+
+    private void writeProducts(String format, Iterator<ProductCategoryProjection> rows, Writer writer) throws IOException {
+        ProductDTO current = null;
+        int written = 0;
+        while (rows.hasNext()) {
+            ProductCategoryProjection row = rows.next();
+            if (current == null || !current.getId().equals(row.getId())) {
+                if (current != null) {
+                    write(format, current, writer);
+                    if (++written % FLUSH_INTERVAL == 0) {
+                        writer.flush();
+                    }
+                }
+                current = new ProductDTO(row.getId(), row.getName(), row.getDescription(), row.getPrice(), row.getImgUrl(), row.getDate());
+            }
+            if (row.getCategoryId() != null) {
+                current.getCategories().add(new CategoryDTO(row.getCategoryId(), row.getCategoryName()));
+            }
+        }
+        if (current != null) {
+            write(format, current, writer);
+        }
+    }
+
+    private void write(String format, ProductDTO dto, Writer writer) throws IOException {
+        if (CSV.equals(format)) {
+            writer.write(dto.getId() + "," + csv(dto.getName()) + "," + csv(dto.getDescription()) + ","
+                    + (dto.getPrice() == null ? "" : dto.getPrice()) + "," + csv(dto.getImgUrl()) + ","
+                    + (dto.getDate() == null ? "" : dto.getDate()) + ","
+                    + dto.getCategories().stream().map(x -> x.getId().toString()).collect(Collectors.joining(";")) + "\n");
+        }
+        else {
+            writer.write(objectMapper.writeValueAsString(dto));
+            writer.write("\n");
+        }
+    }
+
+    private static String csv(String value) {
+        if (value == null) {
+            return "";
+        }
+        return "\"" + value.replace("\"", "\"\"") + "\"";
+    }
+}
@@ -0,0 +1,176 @@
+package br.com.devsuperior.dscatalog.services;
+
+import br.com.devsuperior.dscatalog.dto.CategoryDTO;
+import br.com.devsuperior.dscatalog.dto.ProductDTO;
+import br.com.devsuperior.dscatalog.dto.ProductImportErrorDTO;
+import br.com.devsuperior.dscatalog.dto.ProductImportResultDTO;
+import br.com.devsuperior.dscatalog.repositories.CategoryRepository;
+import br.com.devsuperior.dscatalog.services.events.ProductChangedEvent;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+@Service
+public class ProductImportService {
+
+    private static final String INSERT_PRODUCT = """
+            INSERT INTO tb_product (name, description, price, img_url, date, update_at)
+            VALUES (?, ?, ?, ?, ?, LOCALTIMESTAMP)
+            """;
+
+    private static final String INSERT_PRODUCT_CATEGORY = """
+            INSERT INTO tb_product_category (product_id, category_id) VALUES (?, ?)
+            """;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private Validator validator;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Value("${catalog.import.chunk-size}")
+    private Integer chunkSize;
+
+    public ProductImportResultDTO importProducts(InputStream input) throws IOException {
+        ProductImportResultDTO result = new ProductImportResultDTO();
+        Set<Long> categoryIds = new HashSet<>(categoryRepository.findAllIds());
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+
+        List<ProductDTO> chunk = new ArrayList<>(chunkSize);
+        List<Integer> indexes = new ArrayList<>(chunkSize);
+        try (MappingIterator<ProductDTO> records = objectMapper.readerFor(ProductDTO.class).readValues(input)) {
+            int index = 0;
+            while (records.hasNextValue()) {
+                ProductDTO dto = records.nextValue();
+                result.addReceived();
+                ProductImportErrorDTO error = validate(index++, dto, categoryIds);
+                if (error != null) {
+                    result.addError(error);
+                    continue;
+                }
+                chunk.add(dto);
+                indexes.add(index - 1);
+                if (chunk.size() == chunkSize) {
+                    importChunk(chunk, indexes, result, transactionTemplate);
+                    chunk.clear();
+                    indexes.clear();
+                }
+            }
+        }
+        catch (JsonProcessingException e) {
+            ProductImportErrorDTO error = new ProductImportErrorDTO(result.getReceived());
+            error.addError("json", e.getOriginalMessage());
+            result.addError(error);
+        }
+        if (!chunk.isEmpty()) {
+            importChunk(chunk, indexes, result, transactionTemplate);
+        }
+        return result;
+    }
+
+    private void importChunk(List<ProductDTO> chunk, List<Integer> indexes, ProductImportResultDTO result,
+                             TransactionTemplate transactionTemplate) {
+        try {
+            result.addImported(transactionTemplate.execute(status -> insertChunk(chunk)));
+        }
+        catch (DataAccessException e) {
+            for (int i = 0; i < chunk.size(); i++) {
+                List<ProductDTO> record = List.of(chunk.get(i));
+                try {
+                    result.addImported(transactionTemplate.execute(status -> insertChunk(record)));
+                }
+                catch (DataAccessException recordFailure) {
+                    ProductImportErrorDTO error = new ProductImportErrorDTO(indexes.get(i));
+                    error.addError("product", "Falha ao gravar o registro");
+                    result.addError(error);
+                }
+            }
+        }
+    }
+
+    private ProductImportErrorDTO validate(int index, ProductDTO dto, Set<Long> categoryIds) {
+        ProductImportErrorDTO error = new ProductImportErrorDTO(index);
+        for (ConstraintViolation<ProductDTO> violation : validator.validate(dto)) {
+            error.addError(violation.getPropertyPath().toString(), violation.getMessage());
+        }
+        for (CategoryDTO category : dto.getCategories()) {
+            if (!categoryIds.contains(category.getId())) {
+                error.addError("categories", "Categoria não encontrada: " + category.getId());
+            }
+        }
+        return error.getErrors().isEmpty() ? null : error;
+    }
+
+    private int insertChunk(List<ProductDTO> chunk) {
+        List<Long> productIds = jdbcTemplate.execute((ConnectionCallback<List<Long>>) connection -> {
+            List<Long> ids = new ArrayList<>(chunk.size());
+            try (PreparedStatement ps = connection.prepareStatement(INSERT_PRODUCT, new String[] {"id"})) {
+                for (ProductDTO dto : chunk) {
+                    ps.setString(1, dto.getName());
+                    ps.setString(2, dto.getDescription());
+                    ps.setObject(3, dto.getPrice(), Types.DOUBLE);
+                    ps.setString(4, dto.getImgUrl());
+                    ps.setTimestamp(5, dto.getDate() == null ? null : Timestamp.from(dto.getDate()));
+                    ps.addBatch();
+                }
+                ps.executeBatch();
+                try (ResultSet keys = ps.getGeneratedKeys()) {
+                    while (keys.next()) {
+                        ids.add(keys.getLong(1));
+                    }
+                }
+            }
+            return ids;
+        });
+
+        List<Object[]> links = new ArrayList<>();
+        for (int i = 0; i < chunk.size(); i++) {
+            Set<Long> categoryIds = new LinkedHashSet<>();
+            for (CategoryDTO category : chunk.get(i).getCategories()) {
+                categoryIds.add(category.getId());
+            }
+            for (Long categoryId : categoryIds) {
+                links.add(new Object[] {productIds.get(i), categoryId});
+            }
+        }
+        jdbcTemplate.batchUpdate(INSERT_PRODUCT_CATEGORY, links);
+
+        eventPublisher.publishEvent(new ProductChangedEvent(productIds));
+        return productIds.size();
+    }
+}
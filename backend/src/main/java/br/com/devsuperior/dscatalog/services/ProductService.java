@@ -1,27 +1,50 @@
 package br.com.devsuperior.dscatalog.services;
 
+import br.com.devsuperior.dscatalog.config.CacheConfig;
+import br.com.devsuperior.dscatalog.config.metrics.QueryBudget;
 import br.com.devsuperior.dscatalog.dto.CategoryDTO;
+import br.com.devsuperior.dscatalog.dto.CursorPageDTO;
 import br.com.devsuperior.dscatalog.dto.ProductDTO;
+import br.com.devsuperior.dscatalog.dto.ProductListPageDTO;
+import br.com.devsuperior.dscatalog.dto.ProductListVersionDTO;
 import br.com.devsuperior.dscatalog.entities.Category;
 import br.com.devsuperior.dscatalog.entities.Product;
+import br.com.devsuperior.dscatalog.projections.ProductCategoryProjection;
+import br.com.devsuperior.dscatalog.projections.ProductListVersionProjection;
 import br.com.devsuperior.dscatalog.projections.ProductProjection;
 import br.com.devsuperior.dscatalog.repositories.CategoryRepository;
 import br.com.devsuperior.dscatalog.repositories.ProductRepository;
+import br.com.devsuperior.dscatalog.repositories.ProductSearchRepository;
+import br.com.devsuperior.dscatalog.services.events.ProductChangedEvent;
+import br.com.devsuperior.dscatalog.services.exceptions.CategoryNotFoundException;
 import br.com.devsuperior.dscatalog.services.exceptions.DataBaseException;
 import br.com.devsuperior.dscatalog.services.exceptions.ResourceNotFoundException;
+import jakarta.persistence.EntityManager;
 import jakarta.persistence.EntityNotFoundException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.Arrays;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 
 @Service
 public class ProductService {
@@ -32,6 +55,16 @@ public class ProductService {
     @Autowired
     private ProductRepository repository;
 
+    @Autowired
+    private ProductSearchRepository searchRepository;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @QueryBudget(2)
     @Transactional(readOnly = true)
     public Page<ProductDTO> findAllPaged(Pageable pageable){
         Page<Product> list = repository.findAll(pageable);
@@ -39,6 +72,7 @@ public class ProductService {
 
     }
 
+    @Cacheable(cacheNames = CacheConfig.PRODUCTS, key = "#id")
     @Transactional(readOnly = true)
     public ProductDTO findById(Long id) {
         Optional<Product> obj = repository.findById(id);
@@ -51,6 +85,7 @@ public class ProductService {
         Product entity = new Product();
         copyDtoToEntity(dto, entity);
         entity = repository.save(entity);
+        eventPublisher.publishEvent(new ProductChangedEvent(entity.getId()));
 
         return new ProductDTO(entity);
     }
@@ -59,8 +94,15 @@ public class ProductService {
     public ProductDTO update(Long id, ProductDTO dto) {
         try {
             Product entity = repository.getReferenceById(id);
-            copyDtoToEntity(dto, entity);
-            entity = repository.save(entity);
+            Instant updateAt = entity.getUpdateAt();
+            boolean linksChanged = copyDtoToEntity(dto, entity);
+            entity = repository.saveAndFlush(entity);
+            if (linksChanged && Objects.equals(updateAt, entity.getUpdateAt())) {
+                // a link-only edit leaves the product row clean, so stamp it with the database clock here
+                repository.touch(List.of(id));
+                entityManager.refresh(entity);
+            }
+            eventPublisher.publishEvent(new ProductChangedEvent(entity.getId()));
             return new ProductDTO(entity);
         }
         catch (EntityNotFoundException e){
@@ -75,45 +117,171 @@ public class ProductService {
         }
         try {
             repository.deleteById(id);
+            eventPublisher.publishEvent(new ProductChangedEvent(id));
         }
         catch (DataIntegrityViolationException e){
             throw new DataBaseException("Falha de integridade referencial");
         }
     }
 
-    private void copyDtoToEntity(ProductDTO dto, Product entity){
+    private boolean copyDtoToEntity(ProductDTO dto, Product entity){
         entity.setName(dto.getName());
         entity.setDescription(dto.getDescription());
         entity.setDate(dto.getDate());
         entity.setImgUrl(dto.getImgUrl());
         entity.setPrice(dto.getPrice());
 
-        entity.getCategories().clear();
-        for(CategoryDTO catDto : dto.getCategories()){
-            Category category = categoryRepository.getReferenceById(catDto.getId());
-            entity.getCategories().add(category);
+        Set<Long> categoryIds = new HashSet<>();
+        for (CategoryDTO catDto : dto.getCategories()) {
+            categoryIds.add(catDto.getId());
+        }
+        boolean removed = entity.getCategories().removeIf(category -> !categoryIds.contains(category.getId()));
+
+        Set<Long> addedIds = new HashSet<>(categoryIds);
+        for (Category category : entity.getCategories()) {
+            addedIds.remove(category.getId());
         }
+        if (addedIds.isEmpty()) {
+            return removed;
+        }
+        List<Category> added = categoryRepository.findAllById(addedIds);
+        if (added.size() < addedIds.size()) {
+            for (Category category : added) {
+                addedIds.remove(category.getId());
+            }
+            throw new CategoryNotFoundException(addedIds.stream().sorted().toList());
+        }
+        entity.getCategories().addAll(added);
+        return true;
     }
 
+    @QueryBudget(3)
     @Transactional(readOnly = true)
     public Page<ProductDTO> findAllPaged(String name, String categoryId, Pageable pageable) {
+        return listPage(name, Utils.parseCategoryIds(categoryId), pageable).getPage();
+    }
+
+    @QueryBudget(3)
+    @Transactional(readOnly = true)
+    public ProductListPageDTO findListPage(String name, String categoryId, Pageable pageable) {
+        return listPage(name, Utils.parseCategoryIds(categoryId), pageable);
+    }
+
+    private ProductListPageDTO listPage(String name, List<Long> categoryIds, Pageable pageable) {
+
+        if (pageable.isPaged() && isSortedByName(pageable.getSort())) {
+            List<ProductCategoryProjection> rows = repository.searchProductPageWithCategories(
+                    categoryIds, name, pageable.getPageSize(), pageable.getOffset());
+            if (!rows.isEmpty()) {
+                ProductCategoryProjection first = rows.get(0);
+                ProductListVersionDTO version = listVersion(first.getTotal(), first.getStamped(), first.getLastModified());
+                return new ProductListPageDTO(new PageImpl<>(toProductDTOs(rows), pageable, version.getTotal()), version);
+            }
+            ProductListVersionDTO version = listVersion(repository.findListVersion(categoryIds, name));
+            return new ProductListPageDTO(new PageImpl<>(List.of(), pageable, version.getTotal()), version);
+        }
+
+        ProductListVersionDTO version = listVersion(repository.findListVersion(categoryIds, name));
+        Slice<ProductProjection> slice = repository.searchProductsSlice(categoryIds, name, pageable);
+        List<Long> produtctIds = slice.map(x -> x.getId()).toList();
+
+        List<Product> entities = repository.searchProductsWithCategories(produtctIds);
+
+        entities = (List<Product>) Utils.replace(slice.getContent(), entities);
+
+        List<ProductDTO> dtos = entities.stream().map(p -> new ProductDTO(p, p.getCategories())).toList();
+
+        return new ProductListPageDTO(new PageImpl<>(dtos, pageable, version.getTotal()), version);
+    }
+
+    private ProductListVersionDTO listVersion(ProductListVersionProjection version) {
+        return listVersion(version.getTotal(), version.getStamped(), version.getLastModified());
+    }
+
+    private ProductListVersionDTO listVersion(long total, long stamped, Instant lastModified) {
+        return new ProductListVersionDTO(total, stamped < total ? null : lastModified);
+    }
 
-        List<Long> categoryIds = Arrays.asList();
-        if(!"0".equals(categoryId)){
-            String[] vet = categoryId.split(",");
-            categoryIds = Arrays.asList(vet).stream().map(x -> Long.parseLong(x)).toList();
+    @Transactional(readOnly = true)
+    public Page<ProductDTO> searchText(String query, String categoryId, Pageable pageable) {
+
+        Page<Long> ranked = searchRepository.search(query, Utils.parseCategoryIds(categoryId), pageable);
+
+        Map<Long, Integer> positions = new HashMap<>();
+        for (Long id : ranked.getContent()) {
+            positions.put(id, positions.size());
         }
 
-        Page<ProductProjection> page =  repository.searchProducts(categoryIds, name, pageable);
-        List<Long> produtctIds = page.map(x -> x.getId()).toList();
+        List<Product> entities = new ArrayList<>(repository.searchProductsWithCategories(ranked.getContent()));
+        entities.sort(Comparator.comparingInt(p -> positions.get(p.getId())));
+
+        List<ProductDTO> dtos = entities.stream().map(p -> new ProductDTO(p, p.getCategories())).toList();
+
+        return new PageImpl<>(dtos, pageable, ranked.getTotalElements());
+    }
+
+    @Transactional(readOnly = true)
+    public Slice<ProductDTO> findAllSliced(String name, String categoryId, Pageable pageable) {
+
+        List<Long> categoryIds = Utils.parseCategoryIds(categoryId);
+
+        Slice<ProductProjection> slice = repository.searchProductsSlice(categoryIds, name, pageable);
+        List<Long> produtctIds = slice.map(x -> x.getId()).toList();
 
         List<Product> entities = repository.searchProductsWithCategories(produtctIds);
 
-        entities = (List<Product>) Utils.replace(page.getContent(), entities);
+        entities = (List<Product>) Utils.replace(slice.getContent(), entities);
 
         List<ProductDTO> dtos = entities.stream().map(p -> new ProductDTO(p, p.getCategories())).toList();
 
-        Page<ProductDTO> pageDto = new PageImpl<>(dtos, page.getPageable(), page.getTotalElements());
-        return pageDto;
+        return new SliceImpl<>(dtos, slice.getPageable(), slice.hasNext());
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPageDTO<ProductDTO> findAllByCursor(String name, String categoryId, String after, int size) {
+
+        List<Long> categoryIds = Utils.parseCategoryIds(categoryId);
+        ProductCursor cursor = ProductCursor.decode(after);
+
+        List<ProductProjection> rows = repository.searchProductsAfter(categoryIds, name, cursor.getName(), cursor.getId(), size + 1);
+        boolean hasNext = rows.size() > size;
+        if (hasNext) {
+            rows = rows.subList(0, size);
+        }
+
+        List<Long> produtctIds = rows.stream().map(x -> x.getId()).toList();
+        List<Product> entities = repository.searchProductsWithCategories(produtctIds);
+        entities = (List<Product>) Utils.replace(rows, entities);
+
+        List<ProductDTO> dtos = entities.stream().map(p -> new ProductDTO(p, p.getCategories())).toList();
+
+        String next = null;
+        if (hasNext) {
+            ProductProjection last = rows.get(rows.size() - 1);
+            next = new ProductCursor(last.getName(), last.getId()).encode();
+        }
+        return new CursorPageDTO<>(dtos, next);
+    }
+
+    private boolean isSortedByName(Sort sort) {
+        if (sort.isUnsorted()) {
+            return true;
+        }
+        Sort.Order order = sort.getOrderFor("name");
+        return order != null && order.isAscending() && sort.stream().count() == 1;
+    }
+
+    private List<ProductDTO> toProductDTOs(List<ProductCategoryProjection> rows) {
+        List<ProductDTO> dtos = new ArrayList<>();
+        ProductDTO current = null;
+        for (ProductCategoryProjection row : rows) {
+            if (current == null || !current.getId().equals(row.getId())) {
+                current = new ProductDTO(row.getId(), row.getName(), row.getDescription(), row.getPrice(), row.getImgUrl(), row.getDate());
+                current.setUpdateAt(row.getUpdateAt());
+                dtos.add(current);
+            }
+            current.getCategories().add(new CategoryDTO(row.getCategoryId(), row.getCategoryName()));
+        }
+        return dtos;
     }
 }
@@ -0,0 +1,28 @@
+package br.com.devsuperior.dscatalog.services;
+
+import br.com.devsuperior.dscatalog.config.CacheConfig;
+import br.com.devsuperior.dscatalog.services.events.UserChangedEvent;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Locale;
+
+@Component
+public class UserCacheInvalidator {
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        Cache cache = cacheManager.getCache(CacheConfig.USER_DETAILS);
+        for (String email : event.getEmails()) {
+            if (email != null) {
+                cache.evict(email.toLowerCase(Locale.ROOT));
+            }
+        }
+    }
+}
@@ -1,6 +1,8 @@
 package br.com.devsuperior.dscatalog.services;
 
-import br.com.devsuperior.dscatalog.config.AppConfig;
+import br.com.devsuperior.dscatalog.config.CacheConfig;
+import br.com.devsuperior.dscatalog.config.metrics.QueryBudget;
+import br.com.devsuperior.dscatalog.config.routing.PrimaryRead;
 import br.com.devsuperior.dscatalog.dto.RoleDTO;
 import br.com.devsuperior.dscatalog.dto.UserDTO;
 import br.com.devsuperior.dscatalog.dto.UserInsertDTO;
@@ -8,19 +10,26 @@ import br.com.devsuperior.dscatalog.dto.UserUpdateDTO;
 import br.com.devsuperior.dscatalog.entities.Role;
 import br.com.devsuperior.dscatalog.entities.User;
 import br.com.devsuperior.dscatalog.projections.UserDetailsProjection;
+import br.com.devsuperior.dscatalog.projections.UserProjection;
 import br.com.devsuperior.dscatalog.repositories.RoleRepository;
 import br.com.devsuperior.dscatalog.repositories.UserRepository;
+import br.com.devsuperior.dscatalog.services.events.UserChangedEvent;
 import br.com.devsuperior.dscatalog.services.exceptions.DataBaseException;
 import br.com.devsuperior.dscatalog.services.exceptions.ResourceNotFoundException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.persistence.EntityNotFoundException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Propagation;
@@ -30,7 +39,7 @@ import java.util.List;
 import java.util.Optional;
 
 @Service
-public class UserService implements UserDetailsService {
+public class UserService implements UserDetailsService, UserDetailsPasswordService {
 
     @Autowired
     private PasswordEncoder passwordEncoder;
@@ -41,16 +50,29 @@ public class UserService implements UserDetailsService {
     @Autowired
     private RoleRepository roleRepository;
 
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @QueryBudget(3)
     @Transactional(readOnly = true)
     public Page<UserDTO> findAllPaged(Pageable pageable){
-        Page<User> list = repository.findAll(pageable);
-        return list.map(x -> new UserDTO(x));
+        Page<UserProjection> page = repository.searchUsers(pageable);
+        List<Long> userIds = page.map(x -> x.getId()).toList();
 
+        List<User> entities = repository.searchUsersWithRoles(userIds);
+
+        entities = (List<User>) Utils.replace(page.getContent(), entities);
+
+        List<UserDTO> dtos = entities.stream().map(x -> new UserDTO(x)).toList();
+        return new PageImpl<>(dtos, page.getPageable(), page.getTotalElements());
     }
 
     @Transactional(readOnly = true)
     public UserDTO findById(Long id) {
-        Optional<User> obj = repository.findById(id);
+        Optional<User> obj = repository.findWithRolesById(id);
         User entity = obj.orElseThrow(() -> new ResourceNotFoundException("Entity nor found"));
         return new UserDTO(entity);
     }
@@ -68,8 +90,10 @@ public class UserService implements UserDetailsService {
     public UserDTO update(Long id, UserUpdateDTO dto) {
         try {
             User entity = repository.getReferenceById(id);
+            String previousEmail = entity.getEmail();
             copyDtoToEntity(dto, entity);
             entity = repository.save(entity);
+            eventPublisher.publishEvent(new UserChangedEvent(List.of(previousEmail, entity.getEmail())));
             return new UserDTO(entity);
         }
         catch (EntityNotFoundException e){
@@ -79,11 +103,11 @@ public class UserService implements UserDetailsService {
 
     @Transactional(propagation = Propagation.SUPPORTS)
     public void delete(Long id) {
-        if (!repository.existsById(id)){
-            throw new ResourceNotFoundException("Recurso não encontrado");
-        }
+        Optional<User> obj = repository.findById(id);
+        User entity = obj.orElseThrow(() -> new ResourceNotFoundException("Recurso não encontrado"));
         try {
             repository.deleteById(id);
+            eventPublisher.publishEvent(new UserChangedEvent(List.of(entity.getEmail())));
         }
         catch (DataIntegrityViolationException e){
             throw new DataBaseException("Falha de integridade referencial");
@@ -103,17 +127,29 @@ public class UserService implements UserDetailsService {
     }
 
     @Override
+    @PrimaryRead
+    @Cacheable(cacheNames = CacheConfig.USER_DETAILS, key = "#username.toLowerCase(T(java.util.Locale).ROOT)")
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
+        Timer.Sample sample = Timer.start(meterRegistry);
         List<UserDetailsProjection> result = repository.searchUserAndRolesByEmail(username);
+        sample.stop(meterRegistry.timer("dscatalog.user-details.load"));
         if (result.size()==0){
             throw new UsernameNotFoundException(("User not found"));
         }
         User user = new User();
-        user.setEmail(username);
+        user.setEmail(result.get(0).getUsername());
         user.setPassword(result.get(0).getPassword());
         for (UserDetailsProjection projection : result){
             user.addRole(new Role(projection.getRoleId(), projection.getAuthority()));
         }
         return user;
     }
+
+    @Override
+    @Transactional
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        repository.updatePassword(user.getUsername(), newPassword);
+        eventPublisher.publishEvent(new UserChangedEvent(List.of(user.getUsername())));
+        return loadUserByUsername(user.getUsername());
+    }
 }
@@ -5,6 +5,7 @@ import br.com.devsuperior.dscatalog.projections.IdProjection;
 import br.com.devsuperior.dscatalog.projections.ProductProjection;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -22,4 +23,13 @@ public class Utils {
         }
         return result;
     }
+
+    public static List<Long> parseCategoryIds(String categoryId) {
+        List<Long> categoryIds = Arrays.asList();
+        if(!"0".equals(categoryId)){
+            String[] vet = categoryId.split(",");
+            categoryIds = Arrays.asList(vet).stream().map(x -> Long.parseLong(x)).toList();
+        }
+        return categoryIds;
+    }
 }
@@ -0,0 +1,20 @@
+package br.com.devsuperior.dscatalog.services.events;
+
+import java.util.List;
+
+public class ProductChangedEvent {
+
+    private final List<Long> productIds;
+
+    public ProductChangedEvent(List<Long> productIds) {
+        this.productIds = productIds;
+    }
+
+    public ProductChangedEvent(Long productId) {
+        this(List.of(productId));
+    }
+
+    public List<Long> getProductIds() {
+        return productIds;
+    }
+}
@@ -0,0 +1,16 @@
+package br.com.devsuperior.dscatalog.services.events;
+
+import java.util.List;
+
+public class UserChangedEvent {
+
+    private final List<String> emails;
+
+    public UserChangedEvent(List<String> emails) {
+        this.emails = emails;
+    }
+
+    public List<String> getEmails() {
+        return emails;
+    }
+}
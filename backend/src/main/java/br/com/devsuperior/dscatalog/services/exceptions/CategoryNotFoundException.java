@@ -0,0 +1,17 @@
+package br.com.devsuperior.dscatalog.services.exceptions;
+
+import java.util.List;
+
+public class CategoryNotFoundException extends RuntimeException{
+
+    private final List<Long> ids;
+
+    public CategoryNotFoundException(List<Long> ids) {
+        super("Categorias não encontradas: " + ids);
+        this.ids = ids;
+    }
+
+    public List<Long> getIds() {
+        return ids;
+    }
+}
@@ -0,0 +1,8 @@
+package br.com.devsuperior.dscatalog.services.exceptions;
+
+public class InvalidAssignmentException extends RuntimeException{
+
+    public InvalidAssignmentException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,8 @@
+package br.com.devsuperior.dscatalog.services.exceptions;
+
+public class InvalidCursorException extends RuntimeException{
+
+    public InvalidCursorException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,8 @@
+package br.com.devsuperior.dscatalog.services.exceptions;
+
+public class UnsupportedFormatException extends RuntimeException{
+
+    public UnsupportedFormatException(String message) {
+        super(message);
+    }
+}
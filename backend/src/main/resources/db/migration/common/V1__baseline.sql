@@ -0,0 +1,49 @@
+CREATE TABLE tb_category (
+    id bigint GENERATED BY DEFAULT AS IDENTITY,
+    name varchar(255),
+    create_at timestamp WITHOUT TIME ZONE,
+    update_at timestamp WITHOUT TIME ZONE,
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE tb_product (
+    id bigint GENERATED BY DEFAULT AS IDENTITY,
+    name varchar(255),
+    description text,
+    price float(53),
+    img_url varchar(255),
+    date timestamp WITHOUT TIME ZONE,
+    update_at timestamp WITHOUT TIME ZONE,
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE tb_product_category (
+    product_id bigint NOT NULL,
+    category_id bigint NOT NULL,
+    PRIMARY KEY (category_id, product_id),
+    CONSTRAINT fk_product_category_product FOREIGN KEY (product_id) REFERENCES tb_product (id),
+    CONSTRAINT fk_product_category_category FOREIGN KEY (category_id) REFERENCES tb_category (id)
+);
+
+CREATE TABLE tb_role (
+    id bigint GENERATED BY DEFAULT AS IDENTITY,
+    authority varchar(255),
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE tb_user (
+    id bigint GENERATED BY DEFAULT AS IDENTITY,
+    first_name varchar(255),
+    last_name varchar(255),
+    email varchar(255),
+    password varchar(255),
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE tb_user_role (
+    user_id bigint NOT NULL,
+    role_id bigint NOT NULL,
+    PRIMARY KEY (role_id, user_id),
+    CONSTRAINT fk_user_role_user FOREIGN KEY (user_id) REFERENCES tb_user (id),
+    CONSTRAINT fk_user_role_role FOREIGN KEY (role_id) REFERENCES tb_role (id)
+);
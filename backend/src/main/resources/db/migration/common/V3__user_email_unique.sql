@@ -0,0 +1 @@
+CREATE UNIQUE INDEX IF NOT EXISTS uk_user_email ON tb_user (email);
@@ -0,0 +1,6 @@
+CREATE TABLE oauth2_jwk_lock (
+    id int NOT NULL,
+    PRIMARY KEY (id)
+);
+
+INSERT INTO oauth2_jwk_lock (id) VALUES (1);
@@ -0,0 +1,3 @@
+CREATE INDEX idx_product_name ON tb_product (name, id);
+CREATE INDEX idx_product_category_product ON tb_product_category (product_id, category_id);
+CREATE INDEX idx_user_role_user ON tb_user_role (user_id, role_id);
@@ -0,0 +1,3 @@
+CREATE INDEX idx_oauth2_authorization_access_token ON oauth2_authorization (access_token_value);
+CREATE INDEX idx_oauth2_authorization_refresh_token ON oauth2_authorization (refresh_token_value);
+CREATE INDEX idx_oauth2_authorization_code ON oauth2_authorization (authorization_code_value);
@@ -0,0 +1,2 @@
+DROP INDEX CONCURRENTLY IF EXISTS idx_user_email_lower;
+CREATE INDEX CONCURRENTLY idx_user_email_lower ON tb_user (LOWER(email));
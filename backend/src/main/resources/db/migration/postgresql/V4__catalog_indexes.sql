@@ -0,0 +1,6 @@
+DROP INDEX CONCURRENTLY IF EXISTS idx_product_name;
+CREATE INDEX CONCURRENTLY idx_product_name ON tb_product (name, id);
+DROP INDEX CONCURRENTLY IF EXISTS idx_product_category_product;
+CREATE INDEX CONCURRENTLY idx_product_category_product ON tb_product_category (product_id, category_id);
+DROP INDEX CONCURRENTLY IF EXISTS idx_user_role_user;
+CREATE INDEX CONCURRENTLY idx_user_role_user ON tb_user_role (user_id, role_id);
@@ -0,0 +1,3 @@
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+DROP INDEX CONCURRENTLY IF EXISTS idx_product_name_lower;
+CREATE INDEX CONCURRENTLY idx_product_name_lower ON tb_product USING gin (LOWER(name) gin_trgm_ops);
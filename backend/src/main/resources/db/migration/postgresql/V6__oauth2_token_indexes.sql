@@ -0,0 +1,6 @@
+DROP INDEX CONCURRENTLY IF EXISTS idx_oauth2_authorization_access_token;
+CREATE INDEX CONCURRENTLY idx_oauth2_authorization_access_token ON oauth2_authorization USING hash (access_token_value);
+DROP INDEX CONCURRENTLY IF EXISTS idx_oauth2_authorization_refresh_token;
+CREATE INDEX CONCURRENTLY idx_oauth2_authorization_refresh_token ON oauth2_authorization USING hash (refresh_token_value);
+DROP INDEX CONCURRENTLY IF EXISTS idx_oauth2_authorization_code;
+CREATE INDEX CONCURRENTLY idx_oauth2_authorization_code ON oauth2_authorization USING hash (authorization_code_value);
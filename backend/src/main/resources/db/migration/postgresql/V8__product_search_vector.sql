@@ -0,0 +1,8 @@
+CREATE EXTENSION IF NOT EXISTS unaccent;
+CREATE OR REPLACE FUNCTION dscatalog_unaccent(text) RETURNS text
+    AS $$ SELECT public.unaccent('public.unaccent', $1) $$
+    LANGUAGE sql IMMUTABLE PARALLEL SAFE STRICT;
+ALTER TABLE tb_product ADD COLUMN IF NOT EXISTS search_vector tsvector GENERATED ALWAYS AS (
+    setweight(to_tsvector('simple', dscatalog_unaccent(COALESCE(name, ''))), 'A') ||
+    setweight(to_tsvector('simple', dscatalog_unaccent(COALESCE(description, ''))), 'B')
+) STORED;
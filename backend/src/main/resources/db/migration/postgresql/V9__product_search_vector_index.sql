@@ -0,0 +1,2 @@
+DROP INDEX CONCURRENTLY IF EXISTS idx_product_search_vector;
+CREATE INDEX CONCURRENTLY idx_product_search_vector ON tb_product USING gin (search_vector);
@@ -0,0 +1,72 @@
+package br.com.devsuperior.dscatalog.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+public class GuardedCaffeineCacheTests {
+
+    @Test
+    public void putShouldStoreValueLoadedAfterMiss(){
+        GuardedCaffeineCache cache = cache(Duration.ZERO);
+
+        Assertions.assertNull(cache.get(1L));
+        cache.put(1L, "fresh");
+
+        Assertions.assertEquals("fresh", cache.get(1L).get());
+    }
+
+    @Test
+    public void putShouldDropValueLoadedBeforeConcurrentEviction(){
+        GuardedCaffeineCache cache = cache(Duration.ZERO);
+
+        Assertions.assertNull(cache.get(1L));
+        cache.evict(1L);
+        cache.put(1L, "stale");
+
+        Assertions.assertNull(cache.get(1L));
+        cache.put(1L, "fresh");
+        Assertions.assertEquals("fresh", cache.get(1L).get());
+    }
+
+    @Test
+    public void putShouldDropValueLoadedBeforeConcurrentClear(){
+        GuardedCaffeineCache cache = cache(Duration.ZERO);
+
+        Assertions.assertNull(cache.get(1L));
+        cache.clear();
+        cache.put(1L, "stale");
+
+        Assertions.assertNull(cache.get(1L));
+    }
+
+    @Test
+    public void putShouldIgnoreValuesWithoutMatchingMiss(){
+        GuardedCaffeineCache cache = cache(Duration.ZERO);
+
+        Assertions.assertNull(cache.get(1L));
+        cache.put(2L, "other");
+
+        Assertions.assertNull(cache.get(2L));
+    }
+
+    @Test
+    public void putShouldDropValuesLoadedWithinStalenessWindow(){
+        GuardedCaffeineCache cache = cache(Duration.ofHours(1));
+        cache.evict(1L);
+
+        Assertions.assertNull(cache.get(1L));
+        cache.put(1L, "maybe stale");
+        Assertions.assertNull(cache.get(2L));
+        cache.put(2L, "fresh");
+
+        Assertions.assertNull(cache.get(1L));
+        Assertions.assertEquals("fresh", cache.get(2L).get());
+    }
+
+    private GuardedCaffeineCache cache(Duration staleness) {
+        return new GuardedCaffeineCache("test", Caffeine.newBuilder().build(), value -> value, staleness);
+    }
+}
@@ -0,0 +1,39 @@
+package br.com.devsuperior.dscatalog.config;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.Pbkdf2PasswordEncoder;
+
+public class IteratedPbkdf2PasswordEncoderTests {
+
+    @Test
+    public void encodeShouldRecordIterationsAndMatch() {
+        IteratedPbkdf2PasswordEncoder encoder = new IteratedPbkdf2PasswordEncoder(2000);
+
+        String encoded = encoder.encode("123456");
+
+        Assertions.assertTrue(encoded.startsWith("2000$"));
+        Assertions.assertTrue(encoder.matches("123456", encoded));
+        Assertions.assertFalse(encoder.matches("654321", encoded));
+        Assertions.assertFalse(encoder.upgradeEncoding(encoded));
+    }
+
+    @Test
+    public void upgradeEncodingShouldReturnTrueWhenStoredIterationsAreLower() {
+        String encoded = new IteratedPbkdf2PasswordEncoder(1000).encode("123456");
+        IteratedPbkdf2PasswordEncoder encoder = new IteratedPbkdf2PasswordEncoder(2000);
+
+        Assertions.assertTrue(encoder.matches("123456", encoded));
+        Assertions.assertTrue(encoder.upgradeEncoding(encoded));
+    }
+
+    @Test
+    public void upgradeEncodingShouldReturnTrueForHashesWithoutIterations() {
+        String legacy = new Pbkdf2PasswordEncoder("", 16, 2000,
+                Pbkdf2PasswordEncoder.SecretKeyFactoryAlgorithm.PBKDF2WithHmacSHA256).encode("123456");
+        IteratedPbkdf2PasswordEncoder encoder = new IteratedPbkdf2PasswordEncoder(2000);
+
+        Assertions.assertTrue(encoder.matches("123456", legacy));
+        Assertions.assertTrue(encoder.upgradeEncoding(legacy));
+    }
+}
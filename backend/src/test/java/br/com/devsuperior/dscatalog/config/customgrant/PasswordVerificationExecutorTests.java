@@ -0,0 +1,83 @@
+package br.com.devsuperior.dscatalog.config.customgrant;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+public class PasswordVerificationExecutorTests {
+
+    private SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private PasswordVerificationExecutor executor;
+
+    @Test
+    public void executeShouldReturnResultAndRecordMetrics() {
+        executor = new PasswordVerificationExecutor(1, 0, Duration.ofSeconds(1), meterRegistry);
+
+        Assertions.assertEquals("ok", executor.execute(() -> "ok"));
+        Assertions.assertEquals(1, meterRegistry.get("dscatalog.password.verification.time").timer().count());
+        Assertions.assertEquals(1, meterRegistry.get("dscatalog.password.verification.queue").timer().count());
+    }
+
+    @Test
+    public void executeShouldRejectWhenQueueIsFull() throws Exception {
+        executor = new PasswordVerificationExecutor(1, 0, Duration.ofSeconds(5), meterRegistry);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> executor.execute(() -> {
+            started.countDown();
+            release.await();
+            return "first";
+        }));
+        Assertions.assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        Assertions.assertThrows(RejectedExecutionException.class, () -> executor.execute(() -> "second"));
+        Assertions.assertEquals(1.0, meterRegistry.get("dscatalog.password.verification.rejected").counter().count());
+
+        release.countDown();
+        Assertions.assertEquals("first", running.get(5, TimeUnit.SECONDS));
+        Assertions.assertEquals("third", executor.execute(() -> "third"));
+    }
+
+    @Test
+    public void executeShouldRejectWhenQueuedLongerThanTimeout() throws Exception {
+        executor = new PasswordVerificationExecutor(1, 1, Duration.ofMillis(50), meterRegistry);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> executor.execute(() -> {
+            started.countDown();
+            release.await();
+            return "first";
+        }));
+        Assertions.assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        Assertions.assertThrows(RejectedExecutionException.class, () -> executor.execute(() -> "second"));
+
+        release.countDown();
+        Assertions.assertEquals("first", running.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void executeShouldPropagateTaskException() {
+        executor = new PasswordVerificationExecutor(1, 0, Duration.ofSeconds(1), meterRegistry);
+
+        Assertions.assertThrows(IllegalArgumentException.class, () -> executor.execute(() -> {
+            throw new IllegalArgumentException();
+        }));
+        Assertions.assertEquals("ok", executor.execute(() -> "ok"));
+    }
+
+    @Test
+    public void executeShouldRunTaskOnCallingThread() {
+        executor = new PasswordVerificationExecutor(1, 0, Duration.ofSeconds(1), meterRegistry);
+
+        Assertions.assertSame(Thread.currentThread(), executor.execute(Thread::currentThread));
+    }
+}
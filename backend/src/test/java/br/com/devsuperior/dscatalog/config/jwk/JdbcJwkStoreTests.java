@@ -0,0 +1,166 @@
+package br.com.devsuperior.dscatalog.config.jwk;
+
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.jwk.ECKey;
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.JWKMatcher;
+import com.nimbusds.jose.jwk.JWKSelector;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.security.oauth2.jose.jws.SignatureAlgorithm;
+import org.springframework.security.oauth2.jwt.JwsHeader;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtClaimsSet;
+import org.springframework.security.oauth2.jwt.JwtEncoderParameters;
+import org.springframework.security.oauth2.jwt.NimbusJwtEncoder;
+import org.springframework.security.oauth2.server.authorization.config.annotation.web.configuration.OAuth2AuthorizationServerConfiguration;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+public class JdbcJwkStoreTests {
+
+    private static final String KEY_ENCRYPTION_KEY = "fM/tfD+y9QKVeDNGsofVYuu2p57V0VODbKLM2SD4k/s=";
+
+    private EmbeddedDatabase database;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate transactionTemplate;
+    private JwkEncryptor encryptor = new JwkEncryptor(KEY_ENCRYPTION_KEY);
+
+    @BeforeEach
+    void setUp() {
+        database = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .generateUniqueName(true)
+                .addScript("db/migration/common/V2__oauth2_schema.sql")
+                .addScript("db/migration/common/V7__oauth2_jwk_lock.sql")
+                .build();
+        jdbcTemplate = new JdbcTemplate(database);
+        transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(database));
+    }
+
+    @AfterEach
+    void tearDown() {
+        database.shutdown();
+    }
+
+    @Test
+    public void newStoreShouldReuseKeyPersistedByPreviousStore() {
+        JdbcJwkStore first = store("RS256", Duration.ofDays(30), Duration.ofMinutes(10));
+        JdbcJwkStore second = store("RS256", Duration.ofDays(30), Duration.ofMinutes(10));
+
+        Assertions.assertEquals(first.getSigningKey().getKeyID(), second.getSigningKey().getKeyID());
+        Assertions.assertEquals(1, count());
+    }
+
+    @Test
+    public void refreshShouldPublishNextKeyBeforeSigningWithIt() {
+        JdbcJwkStore store = store("RS256", Duration.ofMillis(1), Duration.ofHours(1));
+        JWK signingKey = store.getSigningKey();
+
+        store.refresh();
+        store.refresh();
+
+        Assertions.assertEquals(2, count());
+        Assertions.assertEquals(signingKey.getKeyID(), store.getSigningKey().getKeyID());
+        Assertions.assertEquals(2, publishedKeys(store).size());
+    }
+
+    @Test
+    public void refreshShouldRemoveRetiredKeysAfterRetention() {
+        JdbcJwkStore store = new JdbcJwkStore(jdbcTemplate, transactionTemplate, encryptor, "RS256",
+                Duration.ofMillis(1), Duration.ZERO, Duration.ZERO);
+        JWK retired = store.getSigningKey();
+
+        store.refresh();
+
+        Assertions.assertNotEquals(retired.getKeyID(), store.getSigningKey().getKeyID());
+        Assertions.assertEquals(1, count());
+        Assertions.assertEquals(List.of(store.getSigningKey().getKeyID()),
+                publishedKeys(store).stream().map(JWK::getKeyID).toList());
+    }
+
+    @Test
+    public void es256KeyShouldSignAndVerifyTokens() {
+        JdbcJwkStore store = store("ES256", Duration.ofDays(30), Duration.ofMinutes(10));
+        JWK signingKey = store.getSigningKey();
+        Assertions.assertInstanceOf(ECKey.class, signingKey);
+
+        JwsHeader header = JwsHeader.with(SignatureAlgorithm.ES256).keyId(signingKey.getKeyID()).build();
+        JwtClaimsSet claims = JwtClaimsSet.builder()
+                .subject("maria@gmail.com")
+                .issuedAt(Instant.now())
+                .expiresAt(Instant.now().plusSeconds(60))
+                .build();
+        String token = new NimbusJwtEncoder(store).encode(JwtEncoderParameters.from(header, claims)).getTokenValue();
+
+        Jwt jwt = OAuth2AuthorizationServerConfiguration.jwtDecoder(store).decode(token);
+
+        Assertions.assertEquals("maria@gmail.com", jwt.getSubject());
+        Assertions.assertEquals(signingKey.getKeyID(), jwt.getHeaders().get("kid"));
+    }
+
+    @Test
+    public void insertShouldStorePrivateKeyEncrypted() {
+        JdbcJwkStore store = store("RS256", Duration.ofDays(30), Duration.ofMinutes(10));
+
+        String stored = jdbcTemplate.queryForObject("SELECT jwk FROM oauth2_jwk", String.class);
+
+        Assertions.assertFalse(stored.contains(store.getSigningKey().getKeyID()));
+        Assertions.assertFalse(stored.startsWith("{"));
+        Assertions.assertEquals(store.getSigningKey(), encryptor.decrypt(stored));
+        Assertions.assertThrows(IllegalStateException.class, () -> new JdbcJwkStore(jdbcTemplate, transactionTemplate,
+                new JwkEncryptor("AAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAA="), "RS256",
+                Duration.ofDays(30), Duration.ofMinutes(10), Duration.ofDays(1)));
+    }
+
+    @Test
+    public void storesStartingTogetherOnEmptyTableShouldAgreeOnOneKey() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<JdbcJwkStore>> stores = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                stores.add(executor.submit(() -> store("RS256", Duration.ofDays(30), Duration.ofMinutes(10))));
+            }
+            Set<String> signingKeys = new HashSet<>();
+            for (Future<JdbcJwkStore> store : stores) {
+                signingKeys.add(store.get(30, TimeUnit.SECONDS).getSigningKey().getKeyID());
+            }
+
+            Assertions.assertEquals(1, signingKeys.size());
+            Assertions.assertEquals(1, count());
+        }
+        finally {
+            executor.shutdown();
+        }
+    }
+
+    private JdbcJwkStore store(String algorithm, Duration rotationInterval, Duration publishAhead) {
+        return new JdbcJwkStore(jdbcTemplate, transactionTemplate, encryptor, algorithm, rotationInterval, publishAhead,
+                Duration.ofDays(1));
+    }
+
+    private List<JWK> publishedKeys(JdbcJwkStore store) {
+        return store.get(new JWKSelector(new JWKMatcher.Builder().build()), null);
+    }
+
+    private Integer count() {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM oauth2_jwk", Integer.class);
+    }
+}
@@ -0,0 +1,93 @@
+package br.com.devsuperior.dscatalog.config.jwt;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.oauth2.jwt.BadJwtException;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+
+import java.time.Instant;
+import java.util.Collection;
+
+@ExtendWith(MockitoExtension.class)
+public class CachingJwtDecoderTests {
+
+    @Mock
+    private JwtDecoder delegate;
+
+    @Mock
+    private Converter<Jwt, Collection<GrantedAuthority>> authoritiesConverter;
+
+    private SimpleMeterRegistry meterRegistry;
+    private CachingJwtDecoder decoder;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        decoder = new CachingJwtDecoder(delegate, authoritiesConverter, 100, meterRegistry);
+    }
+
+    @Test
+    public void decodeShouldVerifyTokenOnlyOnceWhileValid() {
+        Jwt jwt = jwt("token", Instant.now().plusSeconds(60));
+        Mockito.when(delegate.decode("token")).thenReturn(jwt);
+
+        Assertions.assertSame(jwt, decoder.decode("token"));
+        Assertions.assertSame(jwt, decoder.decode("token"));
+
+        Mockito.verify(delegate, Mockito.times(1)).decode("token");
+        Assertions.assertEquals(1.0, meterRegistry.get("cache.gets").tag("cache", "jwtDecoder").tag("result", "hit").functionCounter().count());
+    }
+
+    @Test
+    public void decodeShouldNotCacheExpiredToken() {
+        Jwt jwt = jwt("token", Instant.now().minusSeconds(1));
+        Mockito.when(delegate.decode("token")).thenReturn(jwt);
+
+        decoder.decode("token");
+        decoder.decode("token");
+
+        Mockito.verify(delegate, Mockito.times(2)).decode("token");
+    }
+
+    @Test
+    public void decodeShouldNotCacheRejectedToken() {
+        Mockito.when(delegate.decode("token")).thenThrow(new BadJwtException("invalid"));
+
+        Assertions.assertThrows(BadJwtException.class, () -> decoder.decode("token"));
+        Assertions.assertThrows(BadJwtException.class, () -> decoder.decode("token"));
+
+        Mockito.verify(delegate, Mockito.times(2)).decode("token");
+    }
+
+    @Test
+    public void convertShouldMemoizeAuthoritiesOfCachedToken() {
+        Jwt jwt = jwt("token", Instant.now().plusSeconds(60));
+        Collection<GrantedAuthority> authorities = AuthorityUtils.createAuthorityList("ROLE_ADMIN");
+        Mockito.when(delegate.decode("token")).thenReturn(jwt);
+        Mockito.when(authoritiesConverter.convert(jwt)).thenReturn(authorities);
+
+        Assertions.assertSame(authorities, decoder.convert(decoder.decode("token")));
+        Assertions.assertSame(authorities, decoder.convert(decoder.decode("token")));
+
+        Mockito.verify(authoritiesConverter, Mockito.times(1)).convert(jwt);
+    }
+
+    private Jwt jwt(String token, Instant expiresAt) {
+        return Jwt.withTokenValue(token)
+                .header("alg", "RS256")
+                .claim("authorities", "ROLE_ADMIN")
+                .issuedAt(expiresAt.minusSeconds(3600))
+                .expiresAt(expiresAt)
+                .build();
+    }
+}
@@ -0,0 +1,73 @@
+package br.com.devsuperior.dscatalog.config.metrics;
+
+import br.com.devsuperior.dscatalog.tests.TokenUtil;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.jwt;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureObservability
+@AutoConfigureMockMvc
+public class RequestMetricsIT {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private TokenUtil tokenUtil;
+
+    @Test
+    public void requestShouldRecordSqlStatementsPerEndpoint() throws Exception {
+        mockMvc.perform(get("/products/{id}", 1L)).andExpect(status().isOk());
+
+        DistributionSummary statements = meterRegistry.get("dscatalog.http.sql.statements")
+                .tag("method", "GET")
+                .tag("uri", "/products/{id}")
+                .summary();
+        Assertions.assertTrue(statements.count() >= 1);
+        Assertions.assertTrue(statements.max() >= 1);
+        Assertions.assertTrue(meterRegistry.get("dscatalog.transactions").timers().size() >= 1);
+    }
+
+    @Test
+    public void prometheusEndpointShouldExposeRequestAndPoolMetrics() throws Exception {
+        mockMvc.perform(get("/products")).andExpect(status().isOk());
+
+        String accessToken = tokenUtil.obtainAccessToken(mockMvc, "maria@gmail.com", "123456");
+
+        mockMvc.perform(get("/actuator/prometheus").header("Authorization", "Bearer " + accessToken))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("http_server_requests_seconds_bucket")))
+                .andExpect(content().string(containsString("dscatalog_http_sql_statements")))
+                .andExpect(content().string(containsString("hikaricp_connections_acquire_seconds")))
+                .andExpect(content().string(containsString("cache=\"products\"")))
+                .andExpect(content().string(containsString("cache=\"userDetails\"")))
+                .andExpect(content().string(containsString("cache=\"jwtDecoder\"")));
+    }
+
+    @Test
+    public void actuatorShouldRequireAdminExceptForHealth() throws Exception {
+        mockMvc.perform(get("/actuator/health")).andExpect(status().isOk());
+        mockMvc.perform(get("/actuator/prometheus")).andExpect(status().isUnauthorized());
+        mockMvc.perform(get("/actuator/metrics")).andExpect(status().isUnauthorized());
+
+        mockMvc.perform(get("/actuator/metrics").with(jwt().authorities(new SimpleGrantedAuthority("ROLE_OPERATOR"))))
+                .andExpect(status().isForbidden());
+    }
+}
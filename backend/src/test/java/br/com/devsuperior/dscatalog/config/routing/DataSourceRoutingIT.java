@@ -0,0 +1,92 @@
+package br.com.devsuperior.dscatalog.config.routing;
+
+import br.com.devsuperior.dscatalog.config.CacheConfig;
+import br.com.devsuperior.dscatalog.config.metrics.QueryMetricsDataSource;
+import br.com.devsuperior.dscatalog.config.metrics.QueryStatistics;
+import br.com.devsuperior.dscatalog.services.CategoryService;
+import br.com.devsuperior.dscatalog.services.ProductService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+
+import javax.sql.DataSource;
+
+@SpringBootTest(properties = {
+        "datasource.replicas.enabled=true",
+        "datasource.replicas.urls=jdbc:h2:mem:testdb",
+        "spring.datasource.hikari.maximum-pool-size=7"
+})
+public class DataSourceRoutingIT {
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private CategoryService categoryService;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private ReplicaPool replicaPool;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    public void readOnlyServiceCallShouldRunOnReplicaAndStillBeCounted(){
+        Assertions.assertInstanceOf(QueryMetricsDataSource.class, dataSource);
+        double before = replicaRoutes();
+
+        QueryStatistics statistics = QueryStatistics.start();
+        try {
+            Assertions.assertEquals("Books", categoryService.findById(1L).getName());
+            Assertions.assertEquals(1, statistics.getCount());
+        }
+        finally {
+            QueryStatistics.clear();
+        }
+        Assertions.assertEquals(before + 1, replicaRoutes());
+    }
+
+    @Test
+    public void primaryPoolShouldBindHikariProperties(){
+        Assertions.assertEquals(7, replicaPool.getPrimary().getMaximumPoolSize());
+    }
+
+    @Test
+    public void productReadShouldRunOnReplica(){
+        double replicaBefore = replicaRoutes();
+        double primaryBefore = primaryRoutes();
+
+        Assertions.assertEquals("Smart TV", productService.findById(2L).getName());
+
+        Assertions.assertEquals(replicaBefore + 1, replicaRoutes());
+        Assertions.assertEquals(primaryBefore, primaryRoutes());
+    }
+
+    @Test
+    public void recentlyChangedProductShouldNotBeCachedWithinReplicaLag(){
+        cacheManager.getCache(CacheConfig.PRODUCTS).evict(1L);
+        double replicaBefore = replicaRoutes();
+
+        productService.findById(1L);
+        productService.findById(1L);
+
+        Assertions.assertEquals(replicaBefore + 2, replicaRoutes());
+    }
+
+    private double replicaRoutes() {
+        return meterRegistry.counter("dscatalog.datasource.routes", "pool", "replica-0", "fallback", "false").count();
+    }
+
+    private double primaryRoutes() {
+        return meterRegistry.counter("dscatalog.datasource.routes", "pool", "primary", "fallback", "false").count();
+    }
+}
@@ -0,0 +1,153 @@
+package br.com.devsuperior.dscatalog.config.routing;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Connection;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+public class ReplicaRoutingDataSourceTests {
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private ReplicaPool pool;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate readTemplate;
+    private TransactionTemplate writeTemplate;
+
+    @AfterEach
+    void tearDown() {
+        pool.destroy();
+    }
+
+    @Test
+    public void readOnlyTransactionShouldUseReplicaAndWritesPrimary() {
+        setUp(ReplicaPool.ROUND_ROBIN, "replica-a");
+
+        Assertions.assertEquals("replica-a", readTemplate.execute(status -> node()));
+        Assertions.assertEquals("primary", writeTemplate.execute(status -> node()));
+        Assertions.assertEquals("primary", node());
+    }
+
+    @Test
+    public void roundRobinShouldAlternateBetweenReplicas() {
+        setUp(ReplicaPool.ROUND_ROBIN, "replica-a", "replica-b");
+
+        List<String> nodes = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            nodes.add(readTemplate.execute(status -> node()));
+        }
+        Assertions.assertEquals(List.of("replica-a", "replica-b", "replica-a", "replica-b"), nodes);
+    }
+
+    @Test
+    public void leastConnectionsShouldPreferIdleReplica() throws Exception {
+        setUp(ReplicaPool.LEAST_CONNECTIONS, "replica-a", "replica-b");
+
+        try (Connection busy = pool.getReplicas().get(0).getConnection()) {
+            Assertions.assertEquals("replica-b", readTemplate.execute(status -> node()));
+        }
+    }
+
+    @Test
+    public void laggingReplicaShouldFallBackToPrimary() {
+        setUp(ReplicaPool.ROUND_ROBIN, "replica-a");
+        new JdbcTemplate(pool.getReplicas().get(0)).update("UPDATE replica_lag SET seconds = 30");
+
+        pool.refresh();
+
+        Assertions.assertEquals("primary", readTemplate.execute(status -> node()));
+        Assertions.assertEquals(1.0, meterRegistry.get("dscatalog.datasource.routes")
+                .tag("pool", "primary").tag("fallback", "true").counter().count());
+        Assertions.assertEquals(0.0, meterRegistry.get("dscatalog.datasource.replica.healthy")
+                .tag("pool", "replica-0").gauge().value());
+    }
+
+    @Test
+    public void primaryReadShouldKeepReadOnlyTransactionOnPrimary() {
+        setUp(ReplicaPool.ROUND_ROBIN, "replica-a");
+        AspectJProxyFactory factory = new AspectJProxyFactory(new PrimaryReads(readTemplate, jdbcTemplate));
+        factory.addAspect(new PrimaryReadAspect());
+        PrimaryReads reads = factory.getProxy();
+
+        Assertions.assertEquals("primary", reads.node());
+        Assertions.assertEquals("replica-a", readTemplate.execute(status -> node()));
+        Assertions.assertEquals(1.0, meterRegistry.get("dscatalog.datasource.routes")
+                .tag("pool", "primary").tag("fallback", "false").counter().count());
+    }
+
+    @Test
+    public void everyPoolShouldPublishConnectionMetrics() {
+        setUp(ReplicaPool.ROUND_ROBIN, "replica-a", "replica-b");
+        readTemplate.execute(status -> node());
+        writeTemplate.execute(status -> node());
+
+        for (String name : List.of("primary", "replica-0", "replica-1")) {
+            Assertions.assertNotNull(meterRegistry.find("hikaricp.connections").tag("pool", name).gauge(), name);
+        }
+    }
+
+    private void setUp(String strategy, String... replicaNodes) {
+        HikariDataSource primary = database("primary", "primary");
+        List<HikariDataSource> replicas = new ArrayList<>();
+        for (int i = 0; i < replicaNodes.length; i++) {
+            replicas.add(database("replica-" + i, replicaNodes[i]));
+        }
+        pool = new ReplicaPool(primary, replicas, strategy, Duration.ofSeconds(5),
+                "SELECT seconds FROM replica_lag", meterRegistry);
+
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(primary);
+        dataSource.setReadOnlyDataSource(new ReplicaRoutingDataSource(pool, meterRegistry));
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        readTemplate = new TransactionTemplate(transactionManager);
+        readTemplate.setReadOnly(true);
+        writeTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    private HikariDataSource database(String poolName, String node) {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setPoolName(poolName);
+        dataSource.setJdbcUrl("jdbc:h2:mem:" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+        dataSource.setMaximumPoolSize(2);
+        dataSource.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+        JdbcTemplate template = new JdbcTemplate(dataSource);
+        template.execute("CREATE TABLE node (name varchar(20))");
+        template.update("INSERT INTO node (name) VALUES (?)", node);
+        template.execute("CREATE TABLE replica_lag (seconds double precision)");
+        template.update("INSERT INTO replica_lag (seconds) VALUES (0)");
+        return dataSource;
+    }
+
+    private String node() {
+        return jdbcTemplate.queryForObject("SELECT name FROM node", String.class);
+    }
+
+    public static class PrimaryReads {
+
+        private final TransactionTemplate readTemplate;
+        private final JdbcTemplate jdbcTemplate;
+
+        public PrimaryReads(TransactionTemplate readTemplate, JdbcTemplate jdbcTemplate) {
+            this.readTemplate = readTemplate;
+            this.jdbcTemplate = jdbcTemplate;
+        }
+
+        @PrimaryRead
+        public String node() {
+            return readTemplate.execute(status -> jdbcTemplate.queryForObject("SELECT name FROM node", String.class));
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package br.com.devsuperior.dscatalog.repositories;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+@Testcontainers(disabledWithoutDocker = true)
+public class CatalogIndexPostgresTests {
+
+    @Container
+    private static final PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    private static SingleConnectionDataSource dataSource;
+    private static JdbcTemplate jdbcTemplate;
+
+    @BeforeAll
+    public static void migrate(){
+        Flyway.configure()
+                .dataSource(postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword())
+                .locations("classpath:db/migration/common", "classpath:db/migration/postgresql", "classpath:db/testdata")
+                .validateOnMigrate(true)
+                .load()
+                .migrate();
+
+        dataSource = new SingleConnectionDataSource(postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword(), true);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("VACUUM ANALYZE");
+        // The seed tables fit in a page, so the planner would always pick a sequential scan.
+        jdbcTemplate.execute("SET enable_seqscan = off");
+    }
+
+    @AfterAll
+    public static void close(){
+        dataSource.destroy();
+    }
+
+    @Test
+    public void categoryFilterShouldUseIndexLeadingOnCategory(){
+        String plan = explain("""
+                SELECT tb_product_category.product_id FROM tb_product_category
+                WHERE tb_product_category.category_id IN (1, 2)
+                """);
+        Assertions.assertTrue(plan.contains("tb_product_category_pkey"), plan);
+    }
+
+    @Test
+    public void productCategoriesLookupShouldUseCoveringProductIndex(){
+        String plan = explain("""
+                SELECT tb_product_category.category_id FROM tb_product_category
+                WHERE tb_product_category.product_id IN (1, 2)
+                """);
+        Assertions.assertTrue(plan.contains("idx_product_category_product"), plan);
+    }
+
+    @Test
+    public void productNamePageShouldReadNameIndexInOrder(){
+        String plan = explain("SELECT tb_product.id, tb_product.name FROM tb_product ORDER BY tb_product.name, tb_product.id LIMIT 12");
+        Assertions.assertTrue(plan.contains("idx_product_name"), plan);
+        Assertions.assertFalse(plan.contains("Sort"), plan);
+    }
+
+    @Test
+    public void productNameSubstringFilterShouldUseTrigramIndex(){
+        String plan = explain("SELECT tb_product.id FROM tb_product WHERE LOWER(tb_product.name) LIKE LOWER(CONCAT('%', 'gamer', '%'))");
+        Assertions.assertTrue(plan.contains("idx_product_name_lower"), plan);
+    }
+
+    @Test
+    public void productTextSearchShouldUseSearchVectorIndex(){
+        String plan = explain("SELECT tb_product.id FROM tb_product WHERE tb_product.search_vector @@ to_tsquery('simple', 'televisao:*')");
+        Assertions.assertTrue(plan.contains("idx_product_search_vector"), plan);
+    }
+
+    @Test
+    public void userRolesLookupShouldUseCoveringUserIndex(){
+        String plan = explain("""
+                SELECT tb_user_role.role_id FROM tb_user_role
+                WHERE tb_user_role.user_id = 2
+                """);
+        Assertions.assertTrue(plan.contains("idx_user_role_user"), plan);
+    }
+
+    @Test
+    public void userEmailLookupShouldUseUniqueIndex(){
+        String plan = explain("SELECT tb_user.id FROM tb_user WHERE tb_user.email = 'maria@gmail.com'");
+        Assertions.assertTrue(plan.contains("uk_user_email"), plan);
+    }
+
+    @Test
+    public void userLoginLookupShouldUseLowerEmailIndex(){
+        String plan = explain("SELECT tb_user.id FROM tb_user WHERE LOWER(tb_user.email) = LOWER('Maria@Gmail.com')");
+        Assertions.assertTrue(plan.contains("idx_user_email_lower"), plan);
+    }
+
+    @Test
+    public void tokenLookupsShouldUseHashIndexes(){
+        Assertions.assertTrue(explain("SELECT id FROM oauth2_authorization WHERE access_token_value = 'token'")
+                .contains("idx_oauth2_authorization_access_token"));
+        Assertions.assertTrue(explain("SELECT id FROM oauth2_authorization WHERE refresh_token_value = 'token'")
+                .contains("idx_oauth2_authorization_refresh_token"));
+        Assertions.assertTrue(explain("SELECT id FROM oauth2_authorization WHERE authorization_code_value = 'code'")
+                .contains("idx_oauth2_authorization_code"));
+    }
+
+    private String explain(String sql) {
+        return String.join("\n", jdbcTemplate.queryForList("EXPLAIN " + sql, String.class));
+    }
+}
@@ -0,0 +1,58 @@
+package br.com.devsuperior.dscatalog.repositories;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+@DataJpaTest
+public class CatalogIndexTests {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    public void categoryFilterShouldUseIndexLeadingOnCategory(){
+        String plan = explain("""
+                SELECT tb_product_category.product_id FROM tb_product_category
+                WHERE tb_product_category.category_id IN (1, 2)
+                """);
+        Assertions.assertFalse(plan.contains("tableScan"), plan);
+    }
+
+    @Test
+    public void productCategoriesLookupShouldUseCoveringProductIndex(){
+        String plan = explain("""
+                SELECT tb_product_category.category_id FROM tb_product_category
+                WHERE tb_product_category.product_id IN (1, 2)
+                """);
+        Assertions.assertTrue(plan.contains("IDX_PRODUCT_CATEGORY_PRODUCT"), plan);
+    }
+
+    @Test
+    public void productNamePageShouldReadNameIndexInOrder(){
+        String plan = explain("SELECT tb_product.id, tb_product.name FROM tb_product ORDER BY tb_product.name, tb_product.id LIMIT 12");
+        Assertions.assertTrue(plan.contains("IDX_PRODUCT_NAME"), plan);
+        Assertions.assertTrue(plan.contains("index sorted"), plan);
+    }
+
+    @Test
+    public void userRolesLookupShouldUseCoveringUserIndex(){
+        String plan = explain("""
+                SELECT tb_user_role.role_id FROM tb_user_role
+                WHERE tb_user_role.user_id = 2
+                """);
+        Assertions.assertTrue(plan.contains("IDX_USER_ROLE_USER"), plan);
+    }
+
+    @Test
+    public void userEmailLookupShouldUseUniqueIndex(){
+        String plan = explain("SELECT tb_user.id FROM tb_user WHERE tb_user.email = 'maria@gmail.com'");
+        Assertions.assertFalse(plan.contains("tableScan"), plan);
+    }
+
+    private String explain(String sql) {
+        return jdbcTemplate.queryForObject("EXPLAIN " + sql, String.class);
+    }
+}
@@ -0,0 +1,80 @@
+package br.com.devsuperior.dscatalog.repositories;
+
+import br.com.devsuperior.dscatalog.entities.Product;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+
+import java.time.Instant;
+import java.util.List;
+
+@DataJpaTest
+@Import(ProductSearchRepository.class)
+public class ProductSearchRepositoryTests {
+
+    @Autowired
+    private ProductSearchRepository searchRepository;
+
+    @Autowired
+    private ProductRepository repository;
+
+    @Test
+    public void searchShouldMatchTokenPrefixesAndCountEveryMatch(){
+        Page<Long> result = searchRepository.search("gam", List.of(), PageRequest.of(1, 12));
+
+        Assertions.assertEquals(21, result.getTotalElements());
+        Assertions.assertEquals(9, result.getContent().size());
+        Assertions.assertEquals(4L, searchRepository.search("gam", List.of(), PageRequest.of(0, 12)).getContent().get(0));
+    }
+
+    @Test
+    public void searchShouldReportTotalWhenPageIsPastTheEnd(){
+        Page<Long> result = searchRepository.search("gam", List.of(), PageRequest.of(5, 12));
+
+        Assertions.assertTrue(result.getContent().isEmpty());
+        Assertions.assertEquals(21, result.getTotalElements());
+    }
+
+    @Test
+    public void searchShouldRankNameMatchesAboveDescriptionMatchesAndFindUncategorizedProducts(){
+        Product console = repository.saveAndFlush(new Product(null, "Console", "Ideal para games", 100.0, null, Instant.now()));
+
+        List<Long> result = searchRepository.search("gam", List.of(), PageRequest.of(0, 30)).getContent();
+
+        Assertions.assertEquals(22, result.size());
+        Assertions.assertEquals(console.getId(), result.get(21));
+    }
+
+    @Test
+    public void searchShouldIgnoreCaseAndAccents(){
+        Product tv = repository.saveAndFlush(new Product(null, "Televisão Nova", "Tela grande", 100.0, null, Instant.now()));
+
+        Assertions.assertEquals(List.of(tv.getId()), searchRepository.search("TELEVISAO", List.of(), PageRequest.of(0, 12)).getContent());
+    }
+
+    @Test
+    public void searchShouldRequireEveryTokenAndFilterByCategory(){
+        Assertions.assertEquals(List.of(1L), searchRepository.search("lor ring", List.of(), PageRequest.of(0, 12)).getContent());
+        Assertions.assertEquals(List.of(2L), searchRepository.search("smart", List.of(3L), PageRequest.of(0, 12)).getContent());
+        Assertions.assertTrue(searchRepository.search("smart", List.of(2L), PageRequest.of(0, 12)).getContent().isEmpty());
+    }
+
+    @Test
+    public void searchShouldReflectUpdatedProducts(){
+        Product product = repository.findById(2L).get();
+        product.setName("Smart Watch");
+        repository.saveAndFlush(product);
+
+        Assertions.assertEquals(List.of(2L), searchRepository.search("watch", List.of(), PageRequest.of(0, 12)).getContent());
+        Assertions.assertTrue(searchRepository.search("tv", List.of(), PageRequest.of(0, 12)).getContent().isEmpty());
+    }
+
+    @Test
+    public void searchShouldReturnEmptyPageWhenQueryHasNoTokens(){
+        Assertions.assertTrue(searchRepository.search(" - ", List.of(), PageRequest.of(0, 12)).isEmpty());
+    }
+}
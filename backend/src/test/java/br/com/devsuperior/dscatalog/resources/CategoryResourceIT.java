@@ -0,0 +1,131 @@
+package br.com.devsuperior.dscatalog.resources;
+
+import br.com.devsuperior.dscatalog.tests.TokenUtil;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@Transactional
+public class CategoryResourceIT {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TokenUtil tokenUtil;
+
+    private String bearerToken;
+
+    @BeforeEach
+    void setUp() throws Exception{
+        bearerToken = tokenUtil.obtainAccessToken(mockMvc, "maria@gmail.com", "123456");
+    }
+
+    @Test
+    public void findAllShouldReturnCategoriesWithEtag() throws Exception{
+        ResultActions result = mockMvc.perform(get("/categories")
+                .accept(MediaType.APPLICATION_JSON));
+        result.andExpect(status().isOk());
+        result.andExpect(header().exists("ETag"));
+        result.andExpect(jsonPath("$.length()").value(3));
+    }
+
+    @Test
+    public void findAllShouldReturnNotModifiedWhenEtagMatches() throws Exception{
+        String etag = mockMvc.perform(get("/categories")
+                .accept(MediaType.APPLICATION_JSON))
+                .andReturn().getResponse().getHeader("ETag");
+
+        ResultActions result = mockMvc.perform(get("/categories")
+                .header("If-None-Match", etag)
+                .accept(MediaType.APPLICATION_JSON));
+        result.andExpect(status().isNotModified());
+        result.andExpect(header().string("ETag", etag));
+        result.andExpect(content().string(""));
+    }
+
+    @Test
+    public void addProductsShouldLinkOnlyProductsMissingTheCategory() throws Exception{
+        ResultActions result = mockMvc.perform(post("/categories/{id}/products", 2L)
+                .header("Authorization", "Bearer " + bearerToken)
+                .content("{\"productIds\": [1, 3, 4, 4, 1000]}")
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaType.APPLICATION_JSON));
+        result.andExpect(status().isOk());
+        result.andExpect(jsonPath("$.matched").value(3));
+        result.andExpect(jsonPath("$.affected").value(2));
+
+        mockMvc.perform(get("/products?categoryId=2")
+                .accept(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.totalElements").value(4));
+    }
+
+    @Test
+    public void removeProductsShouldUnlinkEveryProductMatchingFilter() throws Exception{
+        ResultActions result = mockMvc.perform(delete("/categories/{id}/products", 3L)
+                .header("Authorization", "Bearer " + bearerToken)
+                .content("{\"name\": \"pc gamer\", \"categoryId\": \"3\"}")
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaType.APPLICATION_JSON));
+        result.andExpect(status().isOk());
+        result.andExpect(jsonPath("$.matched").value(21));
+        result.andExpect(jsonPath("$.affected").value(21));
+
+        mockMvc.perform(get("/products?categoryId=3&name=pc gamer")
+                .accept(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.totalElements").value(0));
+        mockMvc.perform(get("/products?categoryId=3")
+                .accept(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.totalElements").value(2));
+    }
+
+    @Test
+    public void removeProductsShouldReturnUnprocessableEntityWhenNoProductsOrFilterGiven() throws Exception{
+        ResultActions result = mockMvc.perform(delete("/categories/{id}/products", 3L)
+                .header("Authorization", "Bearer " + bearerToken)
+                .content("{}")
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaType.APPLICATION_JSON));
+        result.andExpect(status().isUnprocessableEntity());
+        result.andExpect(jsonPath("$.errors[0].fieldName").value("productIds"));
+
+        mockMvc.perform(get("/products?categoryId=3")
+                .accept(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.totalElements").value(23));
+    }
+
+    @Test
+    public void addProductsShouldReturnNotFoundWhenCategoryDoesNotExist() throws Exception{
+        ResultActions result = mockMvc.perform(post("/categories/{id}/products", 1000L)
+                .header("Authorization", "Bearer " + bearerToken)
+                .content("{\"productIds\": [1]}")
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaType.APPLICATION_JSON));
+        result.andExpect(status().isNotFound());
+    }
+
+    @Test
+    public void addProductsShouldReturnUnauthorizedWhenNoTokenGiven() throws Exception{
+        ResultActions result = mockMvc.perform(post("/categories/{id}/products", 2L)
+                .content("{\"productIds\": [1]}")
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaType.APPLICATION_JSON));
+        result.andExpect(status().isUnauthorized());
+    }
+}
@@ -1,9 +1,12 @@
 package br.com.devsuperior.dscatalog.resources;
 
+import br.com.devsuperior.dscatalog.dto.CategoryDTO;
 import br.com.devsuperior.dscatalog.dto.ProductDTO;
 import br.com.devsuperior.dscatalog.tests.Factory;
 import br.com.devsuperior.dscatalog.tests.TokenUtil;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -11,12 +14,17 @@ import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMock
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.ResultActions;
 import org.springframework.transaction.annotation.Transactional;
 
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @SpringBootTest
@@ -33,6 +41,9 @@ public class ProductResourceIT {
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private EntityManager entityManager;
+
     private Long existisId;
     private Long nonExsistsId;
     private Long countTotalProduct;
@@ -62,6 +73,181 @@ public class ProductResourceIT {
 
     }
 
+    @Test
+    public void findAllShouldReturnSliceWithoutTotalsWhenCountIsFalse() throws Exception{
+        ResultActions result = mockMvc.perform(get("/products?page=0&size=12&sort=name,asc&count=false")
+                .accept(MediaType.APPLICATION_JSON));
+        result.andExpect(status().isOk());
+        result.andExpect(jsonPath("$.totalElements").doesNotExist());
+        result.andExpect(jsonPath("$.last").value(false));
+        result.andExpect(jsonPath("$.content.length()").value(12));
+        result.andExpect(jsonPath("$.content[0].name").value("Macbook Pro"));
+    }
+
+    @Test
+    public void searchShouldReturnRankedMatchesWhenQueryIsPrefix() throws Exception{
+        ResultActions result = mockMvc.perform(get("/products?q=gam&page=0&size=12")
+                .accept(MediaType.APPLICATION_JSON));
+        result.andExpect(status().isOk());
+        result.andExpect(jsonPath("$.content[0].name").value("PC Gamer"));
+        result.andExpect(jsonPath("$.content[0].categories").isNotEmpty());
+    }
+
+    @Test
+    public void findAllShouldPickOneHandlerWhenListingParamsAreCombined() throws Exception{
+        mockMvc.perform(get("/products?q=smart&count=false"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalElements").value(1));
+        mockMvc.perform(get("/products?q=smart&after="))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalElements").value(1));
+        mockMvc.perform(get("/products?after=&count=false"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.next").exists());
+    }
+
+    @Test
+    public void findAllByCursorShouldReturnBadRequestWhenSizeIsOutOfRange() throws Exception{
+        mockMvc.perform(get("/products?after=&size=0")).andExpect(status().isBadRequest());
+        mockMvc.perform(get("/products?after=&size=-1")).andExpect(status().isBadRequest());
+        mockMvc.perform(get("/products?after=&size=101")).andExpect(status().isBadRequest());
+        mockMvc.perform(get("/products?after=&size=100")).andExpect(status().isOk());
+    }
+
+    @Test
+    public void findByIdShouldReturnNotModifiedWhenEtagMatches() throws Exception{
+        ResultActions first = mockMvc.perform(get("/products/{id}", existisId)
+                .accept(MediaType.APPLICATION_JSON));
+        first.andExpect(status().isOk());
+        first.andExpect(header().exists("Last-Modified"));
+        first.andExpect(header().string("Cache-Control", "max-age=60, public"));
+        String etag = first.andReturn().getResponse().getHeader("ETag");
+
+        ResultActions result = mockMvc.perform(get("/products/{id}", existisId)
+                .header("If-None-Match", etag)
+                .accept(MediaType.APPLICATION_JSON));
+        result.andExpect(status().isNotModified());
+    }
+
+    @Test
+    public void findAllShouldReturnNotModifiedWhenPageEtagMatches() throws Exception{
+        String etag = mockMvc.perform(get("/products?page=0&size=12&sort=name,asc")
+                .accept(MediaType.APPLICATION_JSON))
+                .andReturn().getResponse().getHeader("ETag");
+
+        ResultActions result = mockMvc.perform(get("/products?page=0&size=12&sort=name,asc")
+                .header("If-None-Match", etag)
+                .accept(MediaType.APPLICATION_JSON));
+        result.andExpect(status().isNotModified());
+
+        ResultActions otherPage = mockMvc.perform(get("/products?page=1&size=12&sort=name,asc")
+                .header("If-None-Match", etag)
+                .accept(MediaType.APPLICATION_JSON));
+        otherPage.andExpect(status().isOk());
+    }
+
+    @Test
+    public void findAllShouldReturnNewEtagWhenProductOnPageChanges() throws Exception{
+        String etag = mockMvc.perform(get("/products?page=0&size=12&sort=name,asc")
+                .accept(MediaType.APPLICATION_JSON))
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(put("/products/{id}", existisId)
+                .header("Authorization", "Bearer " + bearerToken)
+                .content(objectMapper.writeValueAsString(Factory.createProductDTO()))
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk());
+        entityManager.flush();
+
+        ResultActions result = mockMvc.perform(get("/products?page=0&size=12&sort=name,asc")
+                .header("If-None-Match", etag)
+                .accept(MediaType.APPLICATION_JSON));
+        result.andExpect(status().isOk());
+        Assertions.assertNotEquals(etag, result.andReturn().getResponse().getHeader("ETag"));
+    }
+
+    @Test
+    public void importShouldInsertValidRecordsAndReportInvalidOnes() throws Exception{
+        String body = """
+                {"name": "Imported Alpha", "description": "From feed", "price": 10.0, "date": "2020-07-13T20:50:07Z", "categories": [{"id": 1}]}
+                {"name": "Bad", "description": "", "price": -1.0, "categories": [{"id": 99}]}
+                {"name": "Imported Beta", "description": "From feed", "price": 20.0, "categories": [{"id": 2}, {"id": 3}]}
+                """;
+
+        ResultActions result = mockMvc.perform(post("/products/import")
+                .header("Authorization", "Bearer " + bearerToken)
+                .content(body)
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .accept(MediaType.APPLICATION_JSON));
+        result.andExpect(status().isOk());
+        result.andExpect(jsonPath("$.received").value(3));
+        result.andExpect(jsonPath("$.imported").value(2));
+        result.andExpect(jsonPath("$.errors[0].index").value(1));
+        result.andExpect(jsonPath("$.errors[0].errors.length()").value(4));
+
+        ResultActions search = mockMvc.perform(get("/products?name=imported&sort=name,asc")
+                .accept(MediaType.APPLICATION_JSON));
+        search.andExpect(jsonPath("$.totalElements").value(2));
+        search.andExpect(jsonPath("$.content[0].date").value("2020-07-13T20:50:07Z"));
+        search.andExpect(jsonPath("$.content[1].categories.length()").value(2));
+    }
+
+    @Test
+    public void importShouldAcceptJsonArray() throws Exception{
+        String body = """
+                [{"name": "Imported Gamma", "description": "From feed", "price": 10.0, "categories": [{"id": 1}]}]
+                """;
+
+        ResultActions result = mockMvc.perform(post("/products/import")
+                .header("Authorization", "Bearer " + bearerToken)
+                .content(body)
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaType.APPLICATION_JSON));
+        result.andExpect(status().isOk());
+        result.andExpect(jsonPath("$.imported").value(1));
+    }
+
+    @Test
+    public void exportShouldStreamEveryProductAsCsv() throws Exception{
+        MvcResult started = mockMvc.perform(get("/products/export?format=csv")
+                .header("Authorization", "Bearer " + bearerToken))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String body = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        String[] lines = body.split("\n");
+        Assertions.assertEquals(countTotalProduct + 1, lines.length);
+        Assertions.assertTrue(lines[0].startsWith("id,name"));
+        Assertions.assertTrue(lines[1].startsWith("1,\"The Lord of the Rings\""));
+    }
+
+    @Test
+    public void exportShouldStreamProductsWithCategoriesAsNdjson() throws Exception{
+        MvcResult started = mockMvc.perform(get("/products/export")
+                .header("Authorization", "Bearer " + bearerToken))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String body = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        String[] lines = body.split("\n");
+        Assertions.assertEquals(countTotalProduct, lines.length);
+        ProductDTO second = objectMapper.readValue(lines[1], ProductDTO.class);
+        Assertions.assertEquals(2, second.getCategories().size());
+    }
+
+    @Test
+    public void exportShouldReturnBadRequestWhenFormatIsUnknown() throws Exception{
+        ResultActions result = mockMvc.perform(get("/products/export?format=xml")
+                .header("Authorization", "Bearer " + bearerToken));
+        result.andExpect(status().isBadRequest());
+        result.andExpect(jsonPath("$.error").value("Unsupported format"));
+    }
+
     @Test
     public void updateShouldReturnProductDTOWhenIdExists() throws Exception{
         ProductDTO productDTO = Factory.createProductDTO();
@@ -82,6 +268,23 @@ public class ProductResourceIT {
 
     }
 
+    @Test
+    public void updateShouldReturnUnprocessableEntityListingMissingCategories() throws Exception {
+        ProductDTO productDTO = Factory.createProductDTO();
+        productDTO.getCategories().add(new CategoryDTO(99L, "Missing"));
+        String jsonBody = objectMapper.writeValueAsString(productDTO);
+
+        ResultActions result = mockMvc.perform(put("/products/{id}", existisId)
+                .header("Authorization", "Bearer " + bearerToken)
+                .content(jsonBody)
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaType.APPLICATION_JSON));
+        result.andExpect(status().isUnprocessableEntity());
+        result.andExpect(jsonPath("$.errors.length()").value(1));
+        result.andExpect(jsonPath("$.errors[0].fieldName").value("categories"));
+        result.andExpect(jsonPath("$.errors[0].message").value("Categoria não encontrada: 99"));
+    }
+
     @Test
     public void updateShouldReturnNotFoundWhenIdDoesNotExists() throws Exception {
         ProductDTO productDTO = Factory.createProductDTO();
@@ -1,6 +1,10 @@
 package br.com.devsuperior.dscatalog.resources;
 
 import br.com.devsuperior.dscatalog.dto.ProductDTO;
+import br.com.devsuperior.dscatalog.dto.ProductListPageDTO;
+import br.com.devsuperior.dscatalog.dto.ProductListVersionDTO;
+import br.com.devsuperior.dscatalog.services.ProductExportService;
+import br.com.devsuperior.dscatalog.services.ProductImportService;
 import br.com.devsuperior.dscatalog.services.ProductService;
 import br.com.devsuperior.dscatalog.services.exceptions.DataBaseException;
 import br.com.devsuperior.dscatalog.services.exceptions.ResourceNotFoundException;
@@ -46,6 +50,12 @@ public class ProductResourceTests {
     @MockitoBean
     private ProductService service;
 
+    @MockitoBean
+    private ProductImportService importService;
+
+    @MockitoBean
+    private ProductExportService exportService;
+
     @BeforeEach
     void setUp() throws Exception{
         existinId = 1L;
@@ -55,6 +65,7 @@ public class ProductResourceTests {
         productDTO = Factory.createProductDTO();
         page = new PageImpl<>(List.of(productDTO));
         when(service.findAllPaged(any())).thenReturn(page);
+        when(service.findListPage(any(), any(), any())).thenReturn(new ProductListPageDTO(page, new ProductListVersionDTO(1L, productDTO.getUpdateAt())));
 
         when(service.findById(existinId)).thenReturn(productDTO);
         when(service.findById(nonExistisId)).thenThrow(ResourceNotFoundException.class);
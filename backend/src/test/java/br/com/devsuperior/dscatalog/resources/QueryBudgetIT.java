@@ -0,0 +1,163 @@
+package br.com.devsuperior.dscatalog.resources;
+
+import br.com.devsuperior.dscatalog.config.metrics.QueryBudget;
+import br.com.devsuperior.dscatalog.config.metrics.QueryBudgetAspect;
+import br.com.devsuperior.dscatalog.config.metrics.QueryBudgetExceededException;
+import br.com.devsuperior.dscatalog.tests.TokenUtil;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.system.CapturedOutput;
+import org.springframework.boot.test.system.OutputCaptureExtension;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@Transactional
+@ExtendWith(OutputCaptureExtension.class)
+public class QueryBudgetIT {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private QueryBudgetAspect queryBudgetAspect;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TokenUtil tokenUtil;
+
+    private String bearerToken;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        bearerToken = tokenUtil.obtainAccessToken(mockMvc, "maria@gmail.com", "123456");
+    }
+
+    @Test
+    public void productReadEndpointsShouldStayWithinQueryBudget() throws Exception {
+        mockMvc.perform(get("/products?page=0&size=12&sort=name,asc")).andExpect(status().isOk());
+        mockMvc.perform(get("/products?page=0&size=12&sort=name,desc")).andExpect(status().isOk());
+        mockMvc.perform(get("/products?q=smart")).andExpect(status().isOk());
+        mockMvc.perform(get("/products?count=false")).andExpect(status().isOk());
+        mockMvc.perform(get("/products?after=")).andExpect(status().isOk());
+        mockMvc.perform(get("/products/{id}", 2L)).andExpect(status().isOk());
+    }
+
+    @Test
+    public void productWriteEndpointsShouldStayWithinQueryBudget() throws Exception {
+        String body = """
+                {"name": "Budget product", "description": "Budget description", "price": 10.0,
+                "imgUrl": "https://img.example.com/1.jpg", "date": "2020-07-13T20:50:07Z",
+                "categories": [{"id": 1}, {"id": 2}]}
+                """;
+        mockMvc.perform(post("/products").header("Authorization", "Bearer " + bearerToken)
+                .contentType(MediaType.APPLICATION_JSON).content(body)).andExpect(status().isCreated());
+        mockMvc.perform(put("/products/{id}", 1L).header("Authorization", "Bearer " + bearerToken)
+                .contentType(MediaType.APPLICATION_JSON).content(body)).andExpect(status().isOk());
+        mockMvc.perform(delete("/products/{id}", 25L).header("Authorization", "Bearer " + bearerToken))
+                .andExpect(status().isNoContent());
+    }
+
+    @Test
+    public void categoryEndpointsShouldStayWithinQueryBudget() throws Exception {
+        mockMvc.perform(get("/categories")).andExpect(status().isOk());
+        mockMvc.perform(get("/categories/{id}", 1L)).andExpect(status().isOk());
+        mockMvc.perform(post("/categories").header("Authorization", "Bearer " + bearerToken)
+                .contentType(MediaType.APPLICATION_JSON).content("{\"name\": \"Garden\"}")).andExpect(status().isCreated());
+        mockMvc.perform(put("/categories/{id}", 1L).header("Authorization", "Bearer " + bearerToken)
+                .contentType(MediaType.APPLICATION_JSON).content("{\"name\": \"Books\"}")).andExpect(status().isOk());
+    }
+
+    @Test
+    public void userEndpointsShouldStayWithinQueryBudget() throws Exception {
+        mockMvc.perform(get("/users").header("Authorization", "Bearer " + bearerToken)).andExpect(status().isOk());
+        mockMvc.perform(get("/users/{id}", 1L).header("Authorization", "Bearer " + bearerToken)).andExpect(status().isOk());
+        String body = """
+                {"firstName": "Ana", "lastName": "Souza", "email": "ana@gmail.com", "password": "12345678",
+                "roles": [{"id": 1}, {"id": 2}]}
+                """;
+        mockMvc.perform(post("/users").header("Authorization", "Bearer " + bearerToken)
+                .contentType(MediaType.APPLICATION_JSON).content(body)).andExpect(status().isCreated());
+        mockMvc.perform(put("/users/{id}", 1L).header("Authorization", "Bearer " + bearerToken)
+                .contentType(MediaType.APPLICATION_JSON).content("""
+                        {"firstName": "Alex", "lastName": "Brown", "email": "alex@gmail.com", "roles": [{"id": 1}]}
+                        """)).andExpect(status().isOk());
+        mockMvc.perform(delete("/users/{id}", 1L).header("Authorization", "Bearer " + bearerToken))
+                .andExpect(status().isNoContent());
+    }
+
+    @Test
+    public void budgetExceededShouldThrowInFailMode() {
+        BudgetedQueries queries = proxy(queryBudgetAspect);
+        double exceeded = exceededCount();
+
+        QueryBudgetExceededException e = Assertions.assertThrows(QueryBudgetExceededException.class, queries::countTwice);
+
+        Assertions.assertTrue(e.getMessage().startsWith("Query budget exceeded by BudgetedQueries.countTwice: 2 statements, budget 1"));
+        Assertions.assertEquals(exceeded + 1, exceededCount());
+    }
+
+    @Test
+    public void budgetExceededShouldLogAndCountInLogMode(CapturedOutput output) {
+        BudgetedQueries queries = proxy(new QueryBudgetAspect(meterRegistry, false));
+        double exceeded = exceededCount();
+
+        Assertions.assertEquals(25L, queries.countTwice());
+
+        Assertions.assertEquals(exceeded + 1, exceededCount());
+        Assertions.assertTrue(output.getOut().contains("Query budget exceeded by BudgetedQueries.countTwice: 2 statements, budget 1"));
+    }
+
+    private BudgetedQueries proxy(QueryBudgetAspect aspect) {
+        AspectJProxyFactory factory = new AspectJProxyFactory(new BudgetedQueries(jdbcTemplate));
+        factory.addAspect(aspect);
+        return factory.getProxy();
+    }
+
+    private double exceededCount() {
+        Counter counter = meterRegistry.find("dscatalog.query.budget.exceeded")
+                .tag("method", "BudgetedQueries.countTwice").counter();
+        return counter == null ? 0 : counter.count();
+    }
+
+    public static class BudgetedQueries {
+
+        private final JdbcTemplate jdbcTemplate;
+
+        public BudgetedQueries() {
+            this(null);
+        }
+
+        public BudgetedQueries(JdbcTemplate jdbcTemplate) {
+            this.jdbcTemplate = jdbcTemplate;
+        }
+
+        @QueryBudget(1)
+        public Long countTwice() {
+            jdbcTemplate.queryForObject("SELECT COUNT(*) FROM tb_product", Long.class);
+            return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM tb_product", Long.class);
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package br.com.devsuperior.dscatalog.services;
+
+import br.com.devsuperior.dscatalog.dto.CategoryDTO;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+@SpringBootTest
+public class CategoryServiceIT {
+
+    @Autowired
+    private CategoryService service;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    public void findAllShouldServeSameSnapshotUntilCategoriesChange(){
+        CategoryListSnapshot snapshot = service.findAllSnapshot();
+        Assertions.assertSame(snapshot, service.findAllSnapshot());
+    }
+
+    @Test
+    public void findAllShouldNotCacheUncommittedCategoriesFromRolledBackTransaction(){
+        service.findAll();
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            service.insert(new CategoryDTO(null, "Rolled back"));
+            service.onCategoryChanged(null);
+            Assertions.assertTrue(names(service.findAll()).contains("Rolled back"));
+            status.setRollbackOnly();
+        });
+
+        Assertions.assertFalse(names(service.findAll()).contains("Rolled back"));
+    }
+
+    private List<String> names(List<CategoryDTO> categories) {
+        return categories.stream().map(CategoryDTO::getName).toList();
+    }
+}
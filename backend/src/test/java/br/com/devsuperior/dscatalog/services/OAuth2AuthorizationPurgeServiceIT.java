@@ -0,0 +1,81 @@
+package br.com.devsuperior.dscatalog.services;
+
+import br.com.devsuperior.dscatalog.tests.TokenUtil;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.oauth2.core.AuthorizationGrantType;
+import org.springframework.security.oauth2.core.OAuth2AccessToken;
+import org.springframework.security.oauth2.server.authorization.OAuth2Authorization;
+import org.springframework.security.oauth2.server.authorization.OAuth2AuthorizationService;
+import org.springframework.security.oauth2.server.authorization.OAuth2TokenType;
+import org.springframework.security.oauth2.server.authorization.client.RegisteredClientRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.Instant;
+import java.util.Set;
+import java.util.UUID;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+public class OAuth2AuthorizationPurgeServiceIT {
+
+    @Autowired
+    private OAuth2AuthorizationPurgeService service;
+
+    @Autowired
+    private OAuth2AuthorizationService authorizationService;
+
+    @Autowired
+    private RegisteredClientRepository registeredClientRepository;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TokenUtil tokenUtil;
+
+    @Value("${security.client-id}")
+    private String clientId;
+
+    @Test
+    public void obtainAccessTokenShouldPersistAuthorization() throws Exception {
+        String accessToken = tokenUtil.obtainAccessToken(mockMvc, "maria@gmail.com", "123456");
+
+        OAuth2Authorization authorization = authorizationService.findByToken(accessToken, OAuth2TokenType.ACCESS_TOKEN);
+
+        Assertions.assertNotNull(authorization);
+        Assertions.assertEquals("maria@gmail.com", authorization.getPrincipalName());
+        Assertions.assertEquals(clientId, authorization.getRegisteredClientId());
+    }
+
+    @Test
+    public void purgeExpiredShouldRemoveOnlyExpiredAuthorizations() {
+        Instant now = Instant.now();
+        OAuth2Authorization expired = authorization(now.minusSeconds(7200), now.minusSeconds(3600));
+        OAuth2Authorization active = authorization(now.minusSeconds(60), now.plusSeconds(3600));
+        authorizationService.save(expired);
+        authorizationService.save(active);
+
+        int purged = service.purgeExpired(now);
+
+        Assertions.assertTrue(purged >= 1);
+        Assertions.assertNull(authorizationService.findById(expired.getId()));
+        Assertions.assertNotNull(authorizationService.findById(active.getId()));
+        authorizationService.remove(active);
+    }
+
+    private OAuth2Authorization authorization(Instant issuedAt, Instant expiresAt) {
+        OAuth2AccessToken token = new OAuth2AccessToken(OAuth2AccessToken.TokenType.BEARER,
+                UUID.randomUUID().toString(), issuedAt, expiresAt, Set.of("read"));
+        return OAuth2Authorization.withRegisteredClient(registeredClientRepository.findByClientId(clientId))
+                .id(UUID.randomUUID().toString())
+                .principalName("maria@gmail.com")
+                .authorizationGrantType(new AuthorizationGrantType("password"))
+                .accessToken(token)
+                .build();
+    }
+}
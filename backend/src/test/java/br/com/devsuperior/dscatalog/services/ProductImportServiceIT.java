@@ -0,0 +1,81 @@
+package br.com.devsuperior.dscatalog.services;
+
+import br.com.devsuperior.dscatalog.dto.ProductImportResultDTO;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+@SpringBootTest
+public class ProductImportServiceIT {
+
+    @Autowired
+    private ProductImportService service;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM tb_product_category WHERE product_id IN (SELECT id FROM tb_product WHERE name LIKE 'Import IT%')");
+        jdbcTemplate.update("DELETE FROM tb_product WHERE name LIKE 'Import IT%'");
+    }
+
+    @Test
+    public void importShouldIgnoreRepeatedCategoryIdsWithinRecord() throws Exception {
+        ProductImportResultDTO result = importProducts("""
+                {"name": "Import IT Repeated", "description": "From feed", "price": 10.0, "categories": [{"id": 2}, {"id": 3}, {"id": 2}]}
+                """);
+
+        Assertions.assertEquals(1, result.getImported());
+        Assertions.assertTrue(result.getErrors().isEmpty());
+        List<Long> categoryIds = jdbcTemplate.queryForList("""
+                SELECT category_id FROM tb_product_category
+                WHERE product_id = (SELECT id FROM tb_product WHERE name = 'Import IT Repeated')
+                ORDER BY category_id
+                """, Long.class);
+        Assertions.assertEquals(List.of(2L, 3L), categoryIds);
+    }
+
+    @Test
+    public void importShouldTreatNullCategoriesAsEmpty() throws Exception {
+        ProductImportResultDTO result = importProducts("""
+                {"name": "Import IT Null Categories", "description": "From feed", "price": 10.0, "categories": null}
+                {"name": "Import IT Null Category", "description": "From feed", "price": 10.0, "categories": [null, {"id": 2}]}
+                """);
+
+        Assertions.assertEquals(2, result.getImported());
+        Assertions.assertTrue(result.getErrors().isEmpty());
+        List<Long> categoryIds = jdbcTemplate.queryForList("""
+                SELECT category_id FROM tb_product_category
+                WHERE product_id IN (SELECT id FROM tb_product WHERE name LIKE 'Import IT Null%')
+                """, Long.class);
+        Assertions.assertEquals(List.of(2L), categoryIds);
+    }
+
+    @Test
+    public void importShouldReportRecordThatFailsItsChunkAndKeepTheOthers() throws Exception {
+        ProductImportResultDTO result = importProducts("""
+                {"name": "Import IT First", "description": "From feed", "price": 10.0, "categories": [{"id": 1}]}
+                {"name": "Import IT Broken", "description": "From feed", "price": 10.0, "imgUrl": "%s", "categories": [{"id": 1}]}
+                {"name": "Import IT Third", "description": "From feed", "price": 10.0, "categories": [{"id": 1}]}
+                """.formatted("x".repeat(300)));
+
+        Assertions.assertEquals(3, result.getReceived());
+        Assertions.assertEquals(2, result.getImported());
+        Assertions.assertEquals(1, result.getErrors().size());
+        Assertions.assertEquals(1, result.getErrors().get(0).getIndex());
+        Assertions.assertEquals(2, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM tb_product WHERE name LIKE 'Import IT%'", Long.class));
+    }
+
+    private ProductImportResultDTO importProducts(String body) throws Exception {
+        return service.importProducts(new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)));
+    }
+}
@@ -1,7 +1,15 @@
 package br.com.devsuperior.dscatalog.services;
 
+import br.com.devsuperior.dscatalog.config.metrics.QueryStatistics;
+import br.com.devsuperior.dscatalog.dto.CategoryDTO;
+import br.com.devsuperior.dscatalog.dto.CursorPageDTO;
 import br.com.devsuperior.dscatalog.dto.ProductDTO;
+import br.com.devsuperior.dscatalog.dto.ProductListPageDTO;
+import br.com.devsuperior.dscatalog.entities.Category;
+import br.com.devsuperior.dscatalog.entities.Product;
+import br.com.devsuperior.dscatalog.repositories.CategoryRepository;
 import br.com.devsuperior.dscatalog.repositories.ProductRepository;
+import br.com.devsuperior.dscatalog.services.exceptions.CategoryNotFoundException;
 import br.com.devsuperior.dscatalog.services.exceptions.ResourceNotFoundException;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
@@ -11,8 +19,15 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
 @SpringBootTest
 @Transactional
 public class ProductServiceIT {
@@ -22,6 +37,9 @@ public class ProductServiceIT {
 
     @Autowired
     private ProductRepository repository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
     private Long existisId;
     private Long nonExsistsId;
     private Long countTotalProduct;
@@ -73,4 +91,193 @@ public class ProductServiceIT {
         Assertions.assertEquals("PC Gamer", result.getContent().get(1).getName());
         Assertions.assertEquals("PC Gamer Alfa", result.getContent().get(2).getName());
     }
+
+    @Test
+    public void findAllPagedShouldReturnProductsWithCategoriesInNameOrderWhenSearching(){
+        PageRequest pageRequest = PageRequest.of(0, 3, Sort.by("name"));
+        Page<ProductDTO> result = service.findAllPaged("", "0", pageRequest);
+        Assertions.assertEquals(countTotalProduct, result.getTotalElements());
+        Assertions.assertEquals(3, result.getContent().size());
+        Assertions.assertEquals("Macbook Pro", result.getContent().get(0).getName());
+        Assertions.assertEquals("PC Gamer", result.getContent().get(1).getName());
+        Assertions.assertNotNull(result.getContent().get(0).getDate());
+        Assertions.assertFalse(result.getContent().get(0).getCategories().isEmpty());
+    }
+
+    @Test
+    public void findAllPagedShouldKeepTotalWhenPageIsPastTheEnd(){
+        PageRequest pageRequest = PageRequest.of(50, 10, Sort.by("name"));
+        Page<ProductDTO> result = service.findAllPaged("", "0", pageRequest);
+        Assertions.assertTrue(result.isEmpty());
+        Assertions.assertEquals(countTotalProduct, result.getTotalElements());
+    }
+
+    @Test
+    public void findListPageShouldReadPageAndVersionInOneQuery(){
+        Instant lastModified = repository.findListVersion(List.of(), "").getLastModified();
+
+        QueryStatistics statistics = QueryStatistics.start();
+        try {
+            ProductListPageDTO result = service.findListPage("", "0", PageRequest.of(0, 3, Sort.by("name")));
+            Assertions.assertEquals(1, statistics.getCount());
+            Assertions.assertEquals(3, result.getPage().getContent().size());
+            Assertions.assertEquals(countTotalProduct, result.getPage().getTotalElements());
+            Assertions.assertEquals(countTotalProduct, result.getVersion().getTotal());
+            Assertions.assertEquals(lastModified, result.getVersion().getLastModified());
+        }
+        finally {
+            QueryStatistics.clear();
+        }
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void findByIdShouldNotShareCachedInstancesWithCallers(){
+        ProductDTO first = service.findById(existisId);
+        String name = first.getName();
+        first.setName("Mutated by caller");
+        first.getCategories().clear();
+
+        ProductDTO second = service.findById(existisId);
+        Assertions.assertEquals(name, second.getName());
+        Assertions.assertFalse(second.getCategories().isEmpty());
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void findByIdShouldServeCachedProductUntilItIsUpdated(){
+        ProductDTO original = service.findById(existisId);
+        QueryStatistics.start();
+        try {
+            ProductDTO cached = service.findById(existisId);
+            Assertions.assertEquals(0, QueryStatistics.current().getCount());
+            Assertions.assertNotSame(original, cached);
+            Assertions.assertEquals(original.getName(), cached.getName());
+        }
+        finally {
+            QueryStatistics.clear();
+        }
+
+        String originalName = original.getName();
+        ProductDTO changed = new ProductDTO(original.getId(), "Renamed product", original.getDescription(),
+                original.getPrice(), original.getImgUrl(), original.getDate());
+        changed.getCategories().addAll(original.getCategories());
+        try {
+            service.update(existisId, changed);
+            Assertions.assertEquals("Renamed product", service.findById(existisId).getName());
+        }
+        finally {
+            changed.setName(originalName);
+            service.update(existisId, changed);
+        }
+        Assertions.assertEquals(originalName, service.findById(existisId).getName());
+    }
+
+    @Test
+    public void updateShouldOnlyWriteChangedCategoryLinks(){
+        Product product = repository.findById(2L).get();
+        ProductDTO dto = new ProductDTO(product, product.getCategories());
+        dto.getCategories().removeIf(category -> category.getId().equals(3L));
+        dto.getCategories().add(new CategoryDTO(categoryRepository.getReferenceById(2L)));
+
+        QueryStatistics statistics = QueryStatistics.start();
+        try {
+            service.update(2L, dto);
+            repository.flush();
+
+            List<String> linkWrites = statistics.getQueries().stream()
+                    .map(query -> query.sql().toLowerCase())
+                    .filter(sql -> sql.contains("tb_product_category") && !sql.startsWith("select"))
+                    .toList();
+            Assertions.assertEquals(2, linkWrites.size());
+            Assertions.assertTrue(linkWrites.stream().anyMatch(sql -> sql.startsWith("delete") && sql.contains("category_id")));
+            Assertions.assertTrue(linkWrites.stream().anyMatch(sql -> sql.startsWith("insert")));
+        }
+        finally {
+            QueryStatistics.clear();
+        }
+        Assertions.assertTrue(repository.findProductIdsByCategory(2L).contains(2L));
+        Assertions.assertFalse(repository.findProductIdsByCategory(3L).contains(2L));
+    }
+
+    @Test
+    public void updateShouldStampLinkOnlyEditsWithDatabaseClock(){
+        Product product = repository.findById(2L).get();
+        Instant updateAt = product.getUpdateAt();
+        ProductDTO dto = new ProductDTO(product, product.getCategories());
+        dto.getCategories().removeIf(category -> category.getId().equals(3L));
+
+        QueryStatistics statistics = QueryStatistics.start();
+        ProductDTO result;
+        try {
+            result = service.update(2L, dto);
+
+            Assertions.assertTrue(statistics.getQueries().stream()
+                    .map(query -> query.sql().toLowerCase())
+                    .anyMatch(sql -> sql.startsWith("update tb_product set update_at = localtimestamp")));
+        }
+        finally {
+            QueryStatistics.clear();
+        }
+        Assertions.assertNotEquals(updateAt, result.getUpdateAt());
+        Assertions.assertEquals(repository.findListVersion(List.of(), "Smart TV").getLastModified(), result.getUpdateAt());
+    }
+
+    @Test
+    public void updateShouldThrowCategoryNotFoundExceptionListingMissingIds(){
+        Product product = repository.findById(existisId).get();
+        ProductDTO dto = new ProductDTO(product, product.getCategories());
+        dto.getCategories().add(new CategoryDTO(99L, "Missing"));
+        dto.getCategories().add(new CategoryDTO(98L, "Missing"));
+
+        CategoryNotFoundException e = Assertions.assertThrows(CategoryNotFoundException.class,
+                () -> service.update(existisId, dto));
+        Assertions.assertEquals(List.of(98L, 99L), e.getIds());
+    }
+
+    @Test
+    public void findAllByCursorShouldVisitEveryProductOnceInNameOrderWhenCatalogIsLarge(){
+        Category category = categoryRepository.getReferenceById(1L);
+        List<Product> seed = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            Product product = new Product(null, "Seed " + (i % 97), "Seed product", 10.0, null, Instant.now());
+            product.getCategories().add(category);
+            seed.add(product);
+        }
+        repository.saveAll(seed);
+        long expected = repository.count();
+
+        Set<Long> visited = new HashSet<>();
+        ProductDTO previous = null;
+        String after = "";
+        CursorPageDTO<ProductDTO> page;
+        do {
+            page = service.findAllByCursor("", "0", after, 50);
+            Assertions.assertTrue(page.getContent().size() <= 50);
+            for (ProductDTO dto : page.getContent()) {
+                Assertions.assertTrue(visited.add(dto.getId()));
+                if (previous != null) {
+                    int cmp = previous.getName().compareTo(dto.getName());
+                    Assertions.assertTrue(cmp < 0 || (cmp == 0 && previous.getId() < dto.getId()));
+                }
+                previous = dto;
+            }
+            after = page.getNext();
+        } while (page.isHasNext());
+
+        Assertions.assertEquals(expected, visited.size());
+    }
+
+    @Test
+    public void searchTextShouldKeepRankOrderAndReturnProductsWithoutCategories(){
+        Product console = repository.saveAndFlush(new Product(null, "Console", "Ideal para games", 100.0, null, Instant.now()));
+
+        Page<ProductDTO> result = service.searchText("gam", "0", PageRequest.of(1, 12));
+
+        Assertions.assertEquals(22, result.getTotalElements());
+        Assertions.assertEquals(10, result.getContent().size());
+        Assertions.assertEquals(console.getId(), result.getContent().get(9).getId());
+        Assertions.assertTrue(result.getContent().get(9).getCategories().isEmpty());
+        Assertions.assertEquals("PC Gamer Y", result.getContent().get(8).getName());
+    }
 }
@@ -1,10 +1,13 @@
 package br.com.devsuperior.dscatalog.services;
 
+import br.com.devsuperior.dscatalog.dto.CategoryDTO;
 import br.com.devsuperior.dscatalog.dto.ProductDTO;
 import br.com.devsuperior.dscatalog.entities.Category;
 import br.com.devsuperior.dscatalog.entities.Product;
 import br.com.devsuperior.dscatalog.repositories.CategoryRepository;
 import br.com.devsuperior.dscatalog.repositories.ProductRepository;
+import br.com.devsuperior.dscatalog.repositories.ProductSearchRepository;
+import br.com.devsuperior.dscatalog.services.exceptions.CategoryNotFoundException;
 import br.com.devsuperior.dscatalog.services.exceptions.DataBaseException;
 import br.com.devsuperior.dscatalog.services.exceptions.ResourceNotFoundException;
 import br.com.devsuperior.dscatalog.tests.Factory;
@@ -17,6 +20,7 @@ import org.mockito.ArgumentMatchers;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
@@ -26,6 +30,7 @@ import org.springframework.test.context.junit.jupiter.SpringExtension;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 @ExtendWith(SpringExtension.class)
 public class ProductServiceTests {
@@ -39,6 +44,12 @@ public class ProductServiceTests {
     @Mock
     private CategoryRepository categoryRepository;
 
+    @Mock
+    private ProductSearchRepository searchRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     private long existingId;
     private long nonExistsId;
     private long dependetId;
@@ -69,13 +80,14 @@ public class ProductServiceTests {
         // Simula o comportamento do método 'save' do repositório.
         // Para qualquer objeto Product que for passado, ele deve retornar o 'product' mockado.
         Mockito.when(repository.save(ArgumentMatchers.any())).thenReturn(product);
+        Mockito.when(repository.saveAndFlush(ArgumentMatchers.any())).thenReturn(product);
 
         // Simula o comportamento do método 'getReferenceById' do repositório
         // quando um ID existente é passado.
         Mockito.when(repository.getReferenceById(existingId)).thenReturn(product);
 
-        // Simula o comportamento do método 'getReferenceById' do CategoryRepository.
-        Mockito.when(categoryRepository.getReferenceById(existingId)).thenReturn(category);
+        // Simula a busca em lote das categorias pelo CategoryRepository.
+        Mockito.when(categoryRepository.findAllById(Set.of(category.getId()))).thenReturn(List.of(category));
 
         // agora lança a exceção correta (EntityNotFoundException) que o serviço espera.
         Mockito.doThrow(EntityNotFoundException.class).when(repository).getReferenceById(nonExistsId);
@@ -103,8 +115,32 @@ public class ProductServiceTests {
         ProductDTO result = service.update(existingId, productDTO);
         Assertions.assertNotNull(result);
 
-        Mockito.verify(repository, Mockito.times(1)).save(Mockito.any(Product.class));
+        Mockito.verify(repository, Mockito.times(1)).saveAndFlush(Mockito.any(Product.class));
+
+    }
+
+    @Test
+    public void insertShouldResolveCategoriesWithOneQuery(){
+        ProductDTO result = service.insert(productDTO);
+        Assertions.assertNotNull(result);
+
+        Mockito.verify(categoryRepository, Mockito.times(1)).findAllById(Set.of(category.getId()));
+    }
 
+    @Test
+    public void updateShouldNotLookUpCategoriesAlreadyLinked(){
+        service.update(existingId, productDTO);
+
+        Mockito.verify(categoryRepository, Mockito.never()).findAllById(ArgumentMatchers.any());
+    }
+
+    @Test
+    public void updateShouldThrowCategoryNotFoundExceptionWhenCategoryDoesNotExist(){
+        productDTO.getCategories().add(new CategoryDTO(nonExistsId + 100, "Missing"));
+
+        Assertions.assertThrows(CategoryNotFoundException.class, () -> {
+            service.update(existingId, productDTO);
+        });
     }
 
     @Test
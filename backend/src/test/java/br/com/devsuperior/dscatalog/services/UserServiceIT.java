@@ -0,0 +1,131 @@
+package br.com.devsuperior.dscatalog.services;
+
+import br.com.devsuperior.dscatalog.config.metrics.QueryStatistics;
+import br.com.devsuperior.dscatalog.dto.RoleDTO;
+import br.com.devsuperior.dscatalog.dto.UserDTO;
+import br.com.devsuperior.dscatalog.dto.UserUpdateDTO;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+@SpringBootTest
+public class UserServiceIT {
+
+    @Autowired
+    private UserService service;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    private Long existingId;
+    private String existingEmail;
+
+    @BeforeEach
+    void setUp() throws Exception{
+        existingId = 2L;
+        existingEmail = "maria@gmail.com";
+    }
+
+    @Test
+    public void loadUserByUsernameShouldReturnCachedUserForAnyEmailCase(){
+        UserDetails user = service.loadUserByUsername(existingEmail);
+        Assertions.assertSame(user, service.loadUserByUsername(existingEmail));
+        Assertions.assertSame(user, service.loadUserByUsername("Maria@Gmail.com"));
+        Assertions.assertEquals(2, user.getAuthorities().size());
+    }
+
+    @Test
+    public void loadUserByUsernameShouldFindStoredEmailWhenCaseDiffers(){
+        UserDetails user = service.loadUserByUsername("MARIA@GMAIL.COM");
+        Assertions.assertEquals(existingEmail, user.getUsername());
+        Assertions.assertSame(user, service.loadUserByUsername(existingEmail));
+    }
+
+    @Test
+    public void loadUserByUsernameShouldReloadUserAfterUpdate(){
+        UserDetails user = service.loadUserByUsername(existingEmail);
+
+        UserDTO current = service.findById(existingId);
+        UserUpdateDTO dto = new UserUpdateDTO();
+        dto.setFirstName(current.getFirstName());
+        dto.setLastName(current.getLastName());
+        dto.setEmail(current.getEmail());
+        for (RoleDTO role : current.getRoles()) {
+            dto.getRoles().add(role);
+        }
+        service.update(existingId, dto);
+
+        Assertions.assertNotSame(user, service.loadUserByUsername(existingEmail));
+    }
+
+    @Test
+    public void updatePasswordShouldUpgradeLegacyHashAndReloadUser(){
+        UserDetails user = service.loadUserByUsername("alex@gmail.com");
+        String legacyHash = user.getPassword();
+        Assertions.assertTrue(passwordEncoder.matches("123456", legacyHash));
+        Assertions.assertTrue(passwordEncoder.upgradeEncoding(legacyHash));
+
+        try {
+            UserDetails result = service.updatePassword(user, passwordEncoder.encode("123456"));
+
+            Assertions.assertTrue(result.getPassword().startsWith("{bcrypt}"));
+            Assertions.assertFalse(passwordEncoder.upgradeEncoding(result.getPassword()));
+            Assertions.assertTrue(passwordEncoder.matches("123456", service.loadUserByUsername("alex@gmail.com").getPassword()));
+        }
+        finally {
+            service.updatePassword(user, legacyHash);
+        }
+    }
+
+    @Test
+    public void findAllPagedShouldLoadRolesOfWholePageInOneQuery(){
+        QueryStatistics statistics = QueryStatistics.start();
+        try {
+            Page<UserDTO> result = service.findAllPaged(PageRequest.of(0, 1, Sort.by("firstName").descending()));
+
+            Assertions.assertEquals(2, result.getTotalElements());
+            Assertions.assertEquals("Maria", result.getContent().get(0).getFirstName());
+            Assertions.assertEquals(2, result.getContent().get(0).getRoles().size());
+            Assertions.assertEquals(3, statistics.getCount());
+        }
+        finally {
+            QueryStatistics.clear();
+        }
+    }
+
+    @Test
+    public void findAllPagedShouldKeepStatementCountIndependentOfPageSize(){
+        QueryStatistics statistics = QueryStatistics.start();
+        try {
+            Page<UserDTO> result = service.findAllPaged(PageRequest.of(0, 20, Sort.by("firstName")));
+
+            Assertions.assertEquals("Alex", result.getContent().get(0).getFirstName());
+            Assertions.assertEquals(1, result.getContent().get(0).getRoles().size());
+            Assertions.assertEquals(2, statistics.getCount());
+        }
+        finally {
+            QueryStatistics.clear();
+        }
+    }
+
+    @Test
+    public void findByIdShouldLoadUserAndRolesInOneQuery(){
+        QueryStatistics statistics = QueryStatistics.start();
+        try {
+            UserDTO result = service.findById(existingId);
+
+            Assertions.assertEquals(2, result.getRoles().size());
+            Assertions.assertEquals(1, statistics.getCount());
+        }
+        finally {
+            QueryStatistics.clear();
+        }
+    }
+}